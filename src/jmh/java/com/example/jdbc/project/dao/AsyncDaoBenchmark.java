@@ -0,0 +1,71 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.Ticket;
+import com.example.jdbc.project.util.BenchmarkDatabase;
+import com.example.jdbc.project.util.ConnectionManager;
+import com.example.jdbc.project.util.DaoExecutors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsyncDaoBenchmark {
+    private static final int REQUESTS = 1_000;
+
+    @Param({"virtual", "platform"})
+    public String executorType;
+
+    private ExecutorService executor;
+    private AsyncDao<Long, Ticket> asyncTicketDao;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("virtual".equals(executorType) && !DaoExecutors.isVirtualThreadSupported()) {
+            throw new IllegalStateException("Skipping executorType=virtual: virtual threads need Java 21, running on "
+                    + Runtime.version().feature());
+        }
+        BenchmarkDatabase.start();
+        int poolSize = ConnectionManager.getPool().getConfig().getMaxSize();
+        executor = "virtual".equals(executorType)
+                ? DaoExecutors.newVirtualThreadExecutor()
+                : DaoExecutors.newPlatformThreadExecutor(poolSize);
+        asyncTicketDao = new AsyncDao<>(TicketDao.getInstance(), executor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void concurrentFindById() {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Optional<Ticket>>[] futures = new CompletableFuture[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            futures[i] = asyncTicketDao.findById((long) (i % 55) + 1);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
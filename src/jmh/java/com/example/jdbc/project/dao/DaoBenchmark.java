@@ -0,0 +1,97 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.Flight;
+import com.example.jdbc.project.entity.Ticket;
+import com.example.jdbc.project.util.BenchmarkDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+    private static final long TICKET_COUNT = 55;
+    private final AtomicInteger seatCounter = new AtomicInteger();
+    private TicketDao ticketDao;
+    private FlightDao flightDao;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkDatabase.start();
+        ticketDao = TicketDao.getInstance();
+        flightDao = FlightDao.getInstance();
+    }
+
+    @Benchmark
+    public Optional<Ticket> findTicketById() {
+        return ticketDao.findById(randomTicketId());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<Ticket> findTicketByIdContended() {
+        return ticketDao.findById(randomTicketId());
+    }
+
+    @Benchmark
+    public List<Ticket> findAllTickets() {
+        return ticketDao.findAll();
+    }
+
+    @Benchmark
+    public List<Flight> findAllFlights() {
+        return flightDao.findAll();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<Flight> findAllFlightsContended() {
+        return flightDao.findAll();
+    }
+
+    @Benchmark
+    public boolean createAndDeleteTicket() {
+        return createAndDelete();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean createAndDeleteTicketContended() {
+        return createAndDelete();
+    }
+
+    private boolean createAndDelete() {
+        Ticket ticket = ticketDao.create(Ticket.builder()
+                .passengerNo("BENCH")
+                .passengerName("Benchmark")
+                .flightId(7L)
+                .seatNo(String.format("%04d", seatCounter.getAndIncrement() % 10_000))
+                .cost(BigDecimal.TEN)
+                .build());
+        return ticketDao.delete(ticket.getId());
+    }
+
+    private long randomTicketId() {
+        return ThreadLocalRandom.current().nextLong(1, TICKET_COUNT + 1);
+    }
+}
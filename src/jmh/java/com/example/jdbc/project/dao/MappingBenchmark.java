@@ -0,0 +1,70 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.FlightMapping;
+import com.example.jdbc.project.entity.TicketMapping;
+import com.example.jdbc.project.util.BenchmarkDatabase;
+import com.example.jdbc.project.util.PropertiesUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+    private Connection connection;
+    private ResultSet tickets;
+    private ResultSet flights;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.start();
+        connection = DriverManager.getConnection(PropertiesUtil.getProperty("url"),
+                PropertiesUtil.getProperty("login"), PropertiesUtil.getProperty("password"));
+        tickets = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)
+                .executeQuery(TicketMapping.SELECT_SQL);
+        flights = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)
+                .executeQuery(FlightMapping.SELECT_SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void mapTickets(Blackhole blackhole) throws SQLException {
+        tickets.beforeFirst();
+        while (tickets.next()) {
+            blackhole.consume(TicketMapping.map(tickets));
+        }
+    }
+
+    @Benchmark
+    public void mapFlights(Blackhole blackhole) throws SQLException {
+        flights.beforeFirst();
+        while (flights.next()) {
+            blackhole.consume(FlightMapping.map(flights));
+        }
+    }
+}
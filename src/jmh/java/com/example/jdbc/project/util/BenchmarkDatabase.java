@@ -0,0 +1,52 @@
+package com.example.jdbc.project.util;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public final class BenchmarkDatabase {
+    private static final String LOGIN = "postgres";
+    private static EmbeddedPostgres postgres;
+
+    private BenchmarkDatabase() {
+    }
+
+    public static synchronized void start() {
+        if (postgres != null) {
+            return;
+        }
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+            String url = postgres.getJdbcUrl(LOGIN, "postgres");
+            try (Connection connection = DriverManager.getConnection(url);
+                 Statement statement = connection.createStatement()) {
+                statement.execute(readInitScript());
+            }
+            System.setProperty("url", url);
+            System.setProperty("login", LOGIN);
+            System.setProperty("password", "");
+            Runtime.getRuntime().addShutdownHook(new Thread(BenchmarkDatabase::stop));
+        } catch (IOException | SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void stop() {
+        try {
+            postgres.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static String readInitScript() throws IOException {
+        try (InputStream inputStream = BenchmarkDatabase.class.getClassLoader().getResourceAsStream("init.sql")) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.jdbc.project.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.start();
+        ConnectionManager.getConnection().close();
+    }
+
+    @Benchmark
+    public void acquireRelease(Blackhole blackhole) throws SQLException {
+        try (Connection connection = ConnectionManager.getConnection()) {
+            blackhole.consume(connection);
+        }
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void acquireReleaseContended(Blackhole blackhole) throws SQLException {
+        try (Connection connection = ConnectionManager.getConnection()) {
+            blackhole.consume(connection);
+        }
+    }
+}
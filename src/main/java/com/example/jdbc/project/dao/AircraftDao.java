@@ -1,8 +1,10 @@
 package com.example.jdbc.project.dao;
 
 import com.example.jdbc.project.entity.Aircraft;
+import com.example.jdbc.project.entity.AircraftMapping;
 import com.example.jdbc.project.exception.DaoException;
 import com.example.jdbc.project.util.ConnectionManager;
+import com.example.jdbc.project.util.TransactionManager;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -10,25 +12,23 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public class AircraftDao implements Dao<Integer, Aircraft> {
+public class AircraftDao implements PatchableDao<Integer, Aircraft, AircraftMapping.Field> {
     private static final AircraftDao INSTANCE = new AircraftDao();
-    private static final String CREATE_SQL = "INSERT INTO aircraft(model) VALUES (?)";
-    private static final String FIND_BY_ID_SQL = "SELECT id, model FROM aircraft WHERE id = ?";
-    private static final String FIND_ALL_SQL = "SELECT id,model FROM aircraft";
-    private static final String UPDATE_SQL = "UPDATE aircraft SET model = ? WHERE id = ?";
-    private static final String DELETE_SQL = "DELETE FROM aircraft WHERE id = ?";
 
     private AircraftDao() {
 
     }
 
     public Aircraft create(Aircraft aircraft) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(CREATE_SQL, Statement.RETURN_GENERATED_KEYS);
-            preparedStatement.setString(1, aircraft.getModel());
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AircraftMapping.INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            AircraftMapping.bindInsert(preparedStatement, aircraft);
             preparedStatement.executeUpdate();
             ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
             if (generatedKeys.next()) {
@@ -41,14 +41,30 @@ public class AircraftDao implements Dao<Integer, Aircraft> {
         }
     }
 
+    @Override
+    public List<Aircraft> createAll(Collection<Aircraft> aircraftList) {
+        return createAll(aircraftList, BatchExecutor.defaultMode());
+    }
+
+    @Override
+    public List<Aircraft> createAll(Collection<Aircraft> aircraftList, BatchMode mode) {
+        try {
+            BatchExecutor.execute(AircraftMapping.INSERT_SQL, aircraftList, AircraftMapping::bindInsert,
+                    (aircraft, generatedKeys) -> aircraft.setId(generatedKeys.getInt("id")), mode);
+            return new ArrayList<>(aircraftList);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
     public Optional<Aircraft> findById(Integer id) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(FIND_BY_ID_SQL);
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AircraftMapping.FIND_BY_ID_SQL)) {
             preparedStatement.setInt(1, id);
             ResultSet resultSet = preparedStatement.executeQuery();
             Aircraft aircraft = null;
             if (resultSet.next()) {
-                aircraft = buildAircraft(resultSet);
+                aircraft = AircraftMapping.map(resultSet);
             }
             return Optional.ofNullable(aircraft);
         } catch (SQLException e) {
@@ -57,12 +73,12 @@ public class AircraftDao implements Dao<Integer, Aircraft> {
     }
 
     public List<Aircraft> findAll() {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(FIND_ALL_SQL);
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AircraftMapping.SELECT_SQL)) {
             ResultSet resultSet = preparedStatement.executeQuery();
             List<Aircraft> aircraftList = new ArrayList<>();
             while (resultSet.next()) {
-                aircraftList.add(buildAircraft(resultSet));
+                aircraftList.add(AircraftMapping.map(resultSet));
             }
             return aircraftList;
         } catch (SQLException e) {
@@ -70,37 +86,121 @@ public class AircraftDao implements Dao<Integer, Aircraft> {
         }
     }
 
+    @Override
+    public Stream<Aircraft> streamAll() {
+        return ResultSetStream.of(AircraftMapping.SELECT_SQL, AircraftMapping::map);
+    }
+
     public void update(Aircraft aircraft) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_SQL);
-            preparedStatement.setString(1, aircraft.getModel());
-            preparedStatement.setInt(2, aircraft.getId());
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AircraftMapping.UPDATE_SQL)) {
+            AircraftMapping.bindUpdate(preparedStatement, aircraft);
             preparedStatement.executeUpdate();
         } catch (SQLException e) {
             throw new DaoException(e);
         }
     }
 
-    public boolean delete(Integer id) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(DELETE_SQL);
-            preparedStatement.setInt(1, id);
+    @Override
+    public int updateAll(Collection<Aircraft> aircraftList) {
+        try {
+            return BatchExecutor.execute(AircraftMapping.UPDATE_SQL, aircraftList, AircraftMapping::bindUpdate);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    @Override
+    public Aircraft upsert(Aircraft aircraft) {
+        if (aircraft.getId() == null) {
+            return create(aircraft);
+        }
+        return TransactionManager.inTransaction(() -> {
+            try (Connection connection = ConnectionManager.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(AircraftMapping.UPSERT_SQL)) {
+                AircraftMapping.bindUpsert(preparedStatement, aircraft);
+                preparedStatement.executeUpdate();
+                Sequences.sync(connection, AircraftMapping.TABLE);
+                return aircraft;
+            }
+        });
+    }
+
+    @Override
+    public int upsertAll(Collection<Aircraft> aircraftList) {
+        List<Aircraft> created = new ArrayList<>();
+        List<Aircraft> upserted = new ArrayList<>();
+        for (Aircraft aircraft : aircraftList) {
+            (aircraft.getId() == null ? created : upserted).add(aircraft);
+        }
+        return TransactionManager.inTransaction(() -> {
+            int updated = BatchExecutor.execute(AircraftMapping.UPSERT_SQL, upserted, AircraftMapping::bindUpsert);
+            if (!upserted.isEmpty()) {
+                try (Connection connection = ConnectionManager.getConnection()) {
+                    Sequences.sync(connection, AircraftMapping.TABLE);
+                }
+            }
+            createAll(created);
+            return updated + created.size();
+        });
+    }
+
+    @Override
+    public boolean patch(Aircraft aircraft, Set<AircraftMapping.Field> fields) {
+        if (fields.isEmpty()) {
+            return false;
+        }
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AircraftMapping.patchSql(fields))) {
+            AircraftMapping.bindPatch(preparedStatement, aircraft, fields);
             return preparedStatement.executeUpdate() > 0;
         } catch (SQLException e) {
             throw new DaoException(e);
         }
     }
 
-    private Aircraft buildAircraft(ResultSet resultSet) throws SQLException {
+    @Override
+    public int patchAll(Collection<Aircraft> aircraftList, Set<AircraftMapping.Field> fields) {
+        if (fields.isEmpty()) {
+            return 0;
+        }
+        try {
+            return BatchExecutor.execute(AircraftMapping.patchSql(fields), aircraftList,
+                    (preparedStatement, aircraft) -> AircraftMapping.bindPatch(preparedStatement, aircraft, fields));
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
 
-        return Aircraft.builder()
-                .id(resultSet.getInt("id"))
-                .model(resultSet.getString("model"))
-                .build();
+    public boolean delete(Integer id) {
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AircraftMapping.DELETE_SQL)) {
+            preparedStatement.setInt(1, id);
+            return preparedStatement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
 
+    @Override
+    public int deleteAllById(Collection<Integer> ids) {
+        try {
+            return BatchExecutor.execute(AircraftMapping.DELETE_SQL, ids, (preparedStatement, id) -> preparedStatement.setInt(1, id));
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
     }
 
     public static AircraftDao getInstance() {
         return INSTANCE;
     }
+
+    public static CachingDao<Integer, Aircraft, AircraftMapping.Field> getCachedInstance() {
+        return CachedInstanceHolder.INSTANCE;
+    }
+
+    private static class CachedInstanceHolder {
+        private static final CachingDao<Integer, Aircraft, AircraftMapping.Field> INSTANCE = CachingDao.of("aircraft", AircraftDao.INSTANCE, Aircraft::getId,
+                Aircraft::copy, Integer::valueOf);
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.jdbc.project.dao;
 
 import com.example.jdbc.project.entity.Airport;
+import com.example.jdbc.project.entity.AirportMapping;
 import com.example.jdbc.project.exception.DaoException;
 import com.example.jdbc.project.util.ConnectionManager;
 
@@ -9,27 +10,24 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-public class AirportDao implements Dao<String, Airport> {
+public class AirportDao implements PatchableDao<String, Airport, AirportMapping.Field> {
     private static final AirportDao INSTANCE = new AirportDao();
-    private static final String CREATE_SQL = "INSERT INTO airport(code, country, city) VALUES (?,?,?)";
-    private static final String FIND_BY_ID_SQL = "SELECT code,country,city FROM airport WHERE code = ?";
-    private static final String FIND_ALL_SQL = "SELECT code,country,city FROM airport";
-    private static final String UPDATE_SQL = "UPDATE airport SET country = ?,city = ? WHERE code = ?";
-    private static final String DELETE_SQL = "DELETE FROM airport WHERE code = ?";
 
     private AirportDao() {
     }
 
     @Override
     public Airport create(Airport entity) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(CREATE_SQL);
-            preparedStatement.setString(1, entity.getCode());
-            preparedStatement.setString(2, entity.getCountry());
-            preparedStatement.setString(3, entity.getCity());
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AirportMapping.INSERT_SQL)) {
+            AirportMapping.bindInsert(preparedStatement, entity);
             preparedStatement.executeUpdate();
             return entity;
         } catch (SQLException e) {
@@ -37,15 +35,30 @@ public class AirportDao implements Dao<String, Airport> {
         }
     }
 
+    @Override
+    public List<Airport> createAll(Collection<Airport> entities) {
+        return createAll(entities, BatchExecutor.defaultMode());
+    }
+
+    @Override
+    public List<Airport> createAll(Collection<Airport> entities, BatchMode mode) {
+        try {
+            BatchExecutor.execute(AirportMapping.INSERT_SQL, entities, AirportMapping::bindInsert, null, mode);
+            return new ArrayList<>(entities);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
     @Override
     public Optional<Airport> findById(String id) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(FIND_BY_ID_SQL);
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AirportMapping.FIND_BY_ID_SQL)) {
             preparedStatement.setString(1, id);
             ResultSet resultSet = preparedStatement.executeQuery();
             Airport airport = null;
             if (resultSet.next()) {
-                airport = buildAirport(resultSet);
+                airport = AirportMapping.map(resultSet);
             }
             return Optional.ofNullable(airport);
         } catch (SQLException e) {
@@ -56,12 +69,12 @@ public class AirportDao implements Dao<String, Airport> {
 
     @Override
     public List<Airport> findAll() {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(FIND_ALL_SQL);
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AirportMapping.SELECT_SQL)) {
             ResultSet resultSet = preparedStatement.executeQuery();
             List<Airport> airportList = new ArrayList<>();
             while (resultSet.next()) {
-                airportList.add(buildAirport(resultSet));
+                airportList.add(AirportMapping.map(resultSet));
             }
             return airportList;
         } catch (SQLException e) {
@@ -69,13 +82,16 @@ public class AirportDao implements Dao<String, Airport> {
         }
     }
 
+    @Override
+    public Stream<Airport> streamAll() {
+        return ResultSetStream.of(AirportMapping.SELECT_SQL, AirportMapping::map);
+    }
+
     @Override
     public void update(Airport entity) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_SQL);
-            preparedStatement.setString(1, entity.getCountry());
-            preparedStatement.setString(2, entity.getCity());
-            preparedStatement.setString(3, entity.getCode());
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AirportMapping.UPDATE_SQL)) {
+            AirportMapping.bindUpdate(preparedStatement, entity);
             preparedStatement.executeUpdate();
         } catch (SQLException e) {
             throw new DaoException(e);
@@ -83,10 +99,67 @@ public class AirportDao implements Dao<String, Airport> {
 
     }
 
+    @Override
+    public int updateAll(Collection<Airport> entities) {
+        try {
+            return BatchExecutor.execute(AirportMapping.UPDATE_SQL, entities, AirportMapping::bindUpdate);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    @Override
+    public Airport upsert(Airport entity) {
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AirportMapping.UPSERT_SQL)) {
+            AirportMapping.bindUpsert(preparedStatement, entity);
+            preparedStatement.executeUpdate();
+            return entity;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    @Override
+    public int upsertAll(Collection<Airport> entities) {
+        try {
+            return BatchExecutor.execute(AirportMapping.UPSERT_SQL, entities, AirportMapping::bindUpsert);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    @Override
+    public boolean patch(Airport entity, Set<AirportMapping.Field> fields) {
+        if (fields.isEmpty()) {
+            return false;
+        }
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AirportMapping.patchSql(fields))) {
+            AirportMapping.bindPatch(preparedStatement, entity, fields);
+            return preparedStatement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    @Override
+    public int patchAll(Collection<Airport> entities, Set<AirportMapping.Field> fields) {
+        if (fields.isEmpty()) {
+            return 0;
+        }
+        try {
+            return BatchExecutor.execute(AirportMapping.patchSql(fields), entities,
+                    (preparedStatement, entity) -> AirportMapping.bindPatch(preparedStatement, entity, fields));
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
     @Override
     public boolean delete(String id) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(DELETE_SQL);
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(AirportMapping.DELETE_SQL)) {
             preparedStatement.setString(1, id);
             return preparedStatement.executeUpdate() > 0;
 
@@ -95,12 +168,25 @@ public class AirportDao implements Dao<String, Airport> {
         }
     }
 
-    private Airport buildAirport(ResultSet resultSet) throws SQLException {
-        return Airport.builder().code(resultSet.getString("code"))
-                .country(resultSet.getString("country")).city(resultSet.getString("city")).build();
+    @Override
+    public int deleteAllById(Collection<String> ids) {
+        try {
+            return BatchExecutor.execute(AirportMapping.DELETE_SQL, ids, (preparedStatement, id) -> preparedStatement.setString(1, id));
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
     }
 
     public static AirportDao getInstance() {
         return INSTANCE;
     }
+
+    public static CachingDao<String, Airport, AirportMapping.Field> getCachedInstance() {
+        return CachedInstanceHolder.INSTANCE;
+    }
+
+    private static class CachedInstanceHolder {
+        private static final CachingDao<String, Airport, AirportMapping.Field> INSTANCE = CachingDao.of("airport", AirportDao.INSTANCE, Airport::getCode,
+                Airport::copy, Function.identity());
+    }
 }
@@ -0,0 +1,161 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.dto.FlightRevenue;
+import com.example.jdbc.project.dto.PassengerRevenue;
+import com.example.jdbc.project.dto.RouteRevenue;
+import com.example.jdbc.project.exception.DaoException;
+import com.example.jdbc.project.util.ConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class AnalyticsDao {
+    private static final AnalyticsDao INSTANCE = new AnalyticsDao();
+    private static final String FLIGHT_REVENUE_SQL = "SELECT " +
+            "f.id flight_id," +
+            "f.flight_no," +
+            "f.departure_airport_code," +
+            "f.arrival_airport_code," +
+            "COALESCE(t.tickets_sold, 0) tickets_sold," +
+            "COALESCE(t.revenue, 0) revenue," +
+            "t.average_cost," +
+            "COALESCE(s.seat_count, 0) seat_count " +
+            "FROM flight f " +
+            "LEFT JOIN (SELECT flight_id, count(*) tickets_sold, sum(cost) revenue, round(avg(cost), 2) average_cost " +
+            "FROM ticket GROUP BY flight_id) t ON t.flight_id = f.id " +
+            "LEFT JOIN (SELECT aircraft_id, count(*) seat_count FROM seat GROUP BY aircraft_id) s ON s.aircraft_id = f.aircraft_id";
+    private static final String SUMMARY_VIEW = "flight_revenue_summary";
+    private static final String FLIGHT_REVENUE_COLUMNS = "SELECT flight_id, flight_no, departure_airport_code, arrival_airport_code, " +
+            "tickets_sold, revenue, average_cost, seat_count FROM %s";
+    private static final String ROUTE_REVENUE_SQL = "SELECT " +
+            "departure_airport_code," +
+            "arrival_airport_code," +
+            "count(*) flight_count," +
+            "sum(tickets_sold) tickets_sold," +
+            "sum(revenue) revenue," +
+            "round(sum(revenue) / NULLIF(sum(tickets_sold), 0), 2) average_cost," +
+            "sum(seat_count) seat_count " +
+            "FROM %s " +
+            "GROUP BY departure_airport_code, arrival_airport_code " +
+            "ORDER BY revenue DESC";
+    private static final String PASSENGER_REVENUE_SQL = "SELECT " +
+            "passenger_no," +
+            "max(passenger_name) passenger_name," +
+            "count(*) tickets_bought," +
+            "sum(cost) revenue," +
+            "round(avg(cost), 2) average_cost " +
+            "FROM ticket " +
+            "GROUP BY passenger_no " +
+            "ORDER BY revenue DESC " +
+            "LIMIT ?";
+    private static final String REFRESH_SUMMARY_SQL = "REFRESH MATERIALIZED VIEW CONCURRENTLY " + SUMMARY_VIEW;
+
+    private AnalyticsDao() {
+    }
+
+    public List<FlightRevenue> findFlightRevenue(AnalyticsSource source) {
+        String sql = String.format(FLIGHT_REVENUE_COLUMNS, relation(source)) + " ORDER BY flight_id";
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<FlightRevenue> flightRevenues = new ArrayList<>();
+            while (resultSet.next()) {
+                flightRevenues.add(buildFlightRevenue(resultSet));
+            }
+            return flightRevenues;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    public Optional<FlightRevenue> findFlightRevenue(Long flightId, AnalyticsSource source) {
+        String sql = String.format(FLIGHT_REVENUE_COLUMNS, relation(source)) + " WHERE flight_id = ?";
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setLong(1, flightId);
+            ResultSet resultSet = preparedStatement.executeQuery();
+            return resultSet.next() ? Optional.of(buildFlightRevenue(resultSet)) : Optional.empty();
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    public List<RouteRevenue> findRouteRevenue(AnalyticsSource source) {
+        String sql = String.format(ROUTE_REVENUE_SQL, relation(source));
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<RouteRevenue> routeRevenues = new ArrayList<>();
+            while (resultSet.next()) {
+                routeRevenues.add(RouteRevenue.builder()
+                        .departureAirportCode(resultSet.getString(1))
+                        .arrivalAirportCode(resultSet.getString(2))
+                        .flightCount(resultSet.getLong(3))
+                        .ticketsSold(resultSet.getLong(4))
+                        .revenue(resultSet.getBigDecimal(5))
+                        .averageCost(resultSet.getBigDecimal(6))
+                        .seatCount(resultSet.getLong(7))
+                        .build());
+            }
+            return routeRevenues;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    public List<PassengerRevenue> findTopPassengers(int limit) {
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(PASSENGER_REVENUE_SQL)) {
+            preparedStatement.setInt(1, limit);
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<PassengerRevenue> passengerRevenues = new ArrayList<>();
+            while (resultSet.next()) {
+                passengerRevenues.add(PassengerRevenue.builder()
+                        .passengerNo(resultSet.getString(1))
+                        .passengerName(resultSet.getString(2))
+                        .ticketsBought(resultSet.getLong(3))
+                        .revenue(resultSet.getBigDecimal(4))
+                        .averageCost(resultSet.getBigDecimal(5))
+                        .build());
+            }
+            return passengerRevenues;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    public void refreshSummary() {
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(REFRESH_SUMMARY_SQL)) {
+            preparedStatement.execute();
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private String relation(AnalyticsSource source) {
+        return source == AnalyticsSource.SUMMARY ? SUMMARY_VIEW : "(" + FLIGHT_REVENUE_SQL + ") flight_revenue";
+    }
+
+    private FlightRevenue buildFlightRevenue(ResultSet resultSet) throws SQLException {
+        return FlightRevenue.builder()
+                .flightId(resultSet.getLong(1))
+                .flightNo(resultSet.getString(2))
+                .departureAirportCode(resultSet.getString(3))
+                .arrivalAirportCode(resultSet.getString(4))
+                .ticketsSold(resultSet.getLong(5))
+                .revenue(resultSet.getBigDecimal(6))
+                .averageCost(resultSet.getBigDecimal(7))
+                .seatCount(resultSet.getLong(8))
+                .build();
+    }
+
+    public static AnalyticsDao getInstance() {
+        return INSTANCE;
+    }
+}
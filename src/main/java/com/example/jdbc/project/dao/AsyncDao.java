@@ -0,0 +1,67 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.util.DaoExecutors;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class AsyncDao<K, E> {
+    private final Dao<K, E> delegate;
+    private final Executor executor;
+
+    public AsyncDao(Dao<K, E> delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    public static <K, E> AsyncDao<K, E> of(Dao<K, E> delegate) {
+        return new AsyncDao<>(delegate, DaoExecutors.getDefault());
+    }
+
+    public CompletableFuture<E> create(E entity) {
+        return CompletableFuture.supplyAsync(() -> delegate.create(entity), executor);
+    }
+
+    public CompletableFuture<List<E>> createAll(Collection<E> entities) {
+        return CompletableFuture.supplyAsync(() -> delegate.createAll(entities), executor);
+    }
+
+    public CompletableFuture<List<E>> createAll(Collection<E> entities, BatchMode mode) {
+        return CompletableFuture.supplyAsync(() -> delegate.createAll(entities, mode), executor);
+    }
+
+    public CompletableFuture<Optional<E>> findById(K id) {
+        return CompletableFuture.supplyAsync(() -> delegate.findById(id), executor);
+    }
+
+    public CompletableFuture<List<E>> findAll() {
+        return CompletableFuture.supplyAsync(delegate::findAll, executor);
+    }
+
+    public CompletableFuture<Void> update(E entity) {
+        return CompletableFuture.runAsync(() -> delegate.update(entity), executor);
+    }
+
+    public CompletableFuture<Integer> updateAll(Collection<E> entities) {
+        return CompletableFuture.supplyAsync(() -> delegate.updateAll(entities), executor);
+    }
+
+    public CompletableFuture<E> upsert(E entity) {
+        return CompletableFuture.supplyAsync(() -> delegate.upsert(entity), executor);
+    }
+
+    public CompletableFuture<Integer> upsertAll(Collection<E> entities) {
+        return CompletableFuture.supplyAsync(() -> delegate.upsertAll(entities), executor);
+    }
+
+    public CompletableFuture<Boolean> delete(K id) {
+        return CompletableFuture.supplyAsync(() -> delegate.delete(id), executor);
+    }
+
+    public CompletableFuture<Integer> deleteAllById(Collection<K> ids) {
+        return CompletableFuture.supplyAsync(() -> delegate.deleteAllById(ids), executor);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.util.ConnectionManager;
+import com.example.jdbc.project.util.PropertiesUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+final class BatchExecutor {
+    private static final String BATCH_SIZE = "dao.batch.size";
+    private static final String BATCH_MODE = "dao.batch.mode";
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int SIZE = PropertiesUtil.getInt(BATCH_SIZE, DEFAULT_BATCH_SIZE);
+    private static final BatchMode MODE = BatchMode.valueOf(
+            PropertiesUtil.getProperty(BATCH_MODE, BatchMode.SINGLE_TRANSACTION.name()));
+
+    private BatchExecutor() {
+    }
+
+    static <T> int execute(String sql, Collection<T> values, StatementBinder<T> binder) throws SQLException {
+        return execute(sql, values, binder, null);
+    }
+
+    static <T> int execute(String sql, Collection<T> values, StatementBinder<T> binder, KeyAssigner<T> keyAssigner) throws SQLException {
+        return execute(sql, values, binder, keyAssigner, MODE);
+    }
+
+    static <T> int execute(String sql, Collection<T> values, StatementBinder<T> binder, KeyAssigner<T> keyAssigner,
+                           BatchMode mode) throws SQLException {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        try (Connection connection = ConnectionManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = keyAssigner == null
+                    ? connection.prepareStatement(sql)
+                    : connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                List<T> chunk = new ArrayList<>(Math.min(SIZE, values.size()));
+                int updated = 0;
+                for (T value : values) {
+                    binder.bind(preparedStatement, value);
+                    preparedStatement.addBatch();
+                    chunk.add(value);
+                    if (chunk.size() == SIZE) {
+                        updated += flush(connection, preparedStatement, chunk, keyAssigner, mode);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    updated += flush(connection, preparedStatement, chunk, keyAssigner, mode);
+                }
+                connection.commit();
+                return updated;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    static BatchMode defaultMode() {
+        return MODE;
+    }
+
+    private static <T> int flush(Connection connection, PreparedStatement preparedStatement, List<T> chunk,
+                                 KeyAssigner<T> keyAssigner, BatchMode mode) throws SQLException {
+        int updated = 0;
+        for (int count : preparedStatement.executeBatch()) {
+            updated += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        if (keyAssigner != null) {
+            try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                for (T value : chunk) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Missing generated key for " + value);
+                    }
+                    keyAssigner.assign(value, generatedKeys);
+                }
+            }
+        }
+        if (mode == BatchMode.CHUNKED_TRANSACTION) {
+            connection.commit();
+        }
+        chunk.clear();
+        return updated;
+    }
+}
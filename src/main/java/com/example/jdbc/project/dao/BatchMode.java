@@ -0,0 +1,6 @@
+package com.example.jdbc.project.dao;
+
+public enum BatchMode {
+    SINGLE_TRANSACTION,
+    CHUNKED_TRANSACTION
+}
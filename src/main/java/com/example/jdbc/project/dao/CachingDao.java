@@ -0,0 +1,232 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.dto.CacheStats;
+import com.example.jdbc.project.event.ChangeFeed;
+import com.example.jdbc.project.event.ChangeListener;
+import com.example.jdbc.project.event.ChangeOperation;
+import com.example.jdbc.project.event.ReferenceChangeEvent;
+import com.example.jdbc.project.util.EntityCache;
+import com.example.jdbc.project.util.PropertiesUtil;
+import com.example.jdbc.project.util.TransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+public class CachingDao<K, E, F extends Enum<F>> implements PatchableDao<K, E, F> {
+    private static final String MAX_SIZE = "cache.%s.max.size";
+    private static final String TTL = "cache.%s.ttl.ms";
+    private static final String PRELOAD = "cache.%s.preload";
+    private static final String CHANGE_FEED = "cache.change.feed";
+    private static final int DEFAULT_MAX_SIZE = 10_000;
+    private static final long DEFAULT_TTL = 3_600_000L;
+
+    private final PatchableDao<K, E, F> delegate;
+    private final Function<E, K> idExtractor;
+    private final UnaryOperator<E> copier;
+    private final EntityCache<K, E> cache;
+
+    public CachingDao(PatchableDao<K, E, F> delegate, Function<E, K> idExtractor, UnaryOperator<E> copier, int maxSize, long ttlMillis) {
+        this.delegate = delegate;
+        this.idExtractor = idExtractor;
+        this.copier = copier;
+        this.cache = new EntityCache<>(maxSize, ttlMillis);
+    }
+
+    public static <K, E, F extends Enum<F>> CachingDao<K, E, F> of(String table, PatchableDao<K, E, F> delegate,
+                                                                  Function<E, K> idExtractor, UnaryOperator<E> copier,
+                                                                  Function<String, K> keyParser) {
+        CachingDao<K, E, F> cachingDao = new CachingDao<>(delegate, idExtractor, copier,
+                PropertiesUtil.getInt(String.format(MAX_SIZE, table), DEFAULT_MAX_SIZE),
+                PropertiesUtil.getLong(String.format(TTL, table), DEFAULT_TTL));
+        if (Boolean.parseBoolean(PropertiesUtil.getProperty(CHANGE_FEED, "true"))) {
+            ChangeFeed.getInstance().subscribe(cachingDao.changeListener(table, keyParser));
+        }
+        if (Boolean.parseBoolean(PropertiesUtil.getProperty(String.format(PRELOAD, table)))) {
+            cachingDao.preload();
+        }
+        return cachingDao;
+    }
+
+    @Override
+    public E create(E entity) {
+        E created = delegate.create(entity);
+        if (!TransactionManager.isActive()) {
+            cache.put(idExtractor.apply(created), copier.apply(created));
+        }
+        return created;
+    }
+
+    @Override
+    public List<E> createAll(Collection<E> entities) {
+        return createAll(entities, BatchExecutor.defaultMode());
+    }
+
+    @Override
+    public List<E> createAll(Collection<E> entities, BatchMode mode) {
+        List<E> created = delegate.createAll(entities, mode);
+        if (!TransactionManager.isActive()) {
+            created.forEach(entity -> cache.put(idExtractor.apply(entity), copier.apply(entity)));
+        }
+        return created;
+    }
+
+    @Override
+    public Optional<E> findById(K id) {
+        if (TransactionManager.isActive()) {
+            return delegate.findById(id);
+        }
+        return cache.getOrLoad(id, key -> delegate.findById(key).map(copier)).map(copier);
+    }
+
+    @Override
+    public List<E> findAll() {
+        if (TransactionManager.isActive()) {
+            return delegate.findAll();
+        }
+        long generation = cache.generation();
+        List<E> entities = delegate.findAll();
+        entities.forEach(entity -> cache.putIfUnchanged(idExtractor.apply(entity), copier.apply(entity), generation));
+        return entities;
+    }
+
+    @Override
+    public Stream<E> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public void update(E entity) {
+        try {
+            delegate.update(entity);
+        } finally {
+            evict(idExtractor.apply(entity));
+        }
+    }
+
+    @Override
+    public int updateAll(Collection<E> entities) {
+        try {
+            return delegate.updateAll(entities);
+        } finally {
+            entities.forEach(entity -> evict(idExtractor.apply(entity)));
+        }
+    }
+
+    @Override
+    public E upsert(E entity) {
+        try {
+            return delegate.upsert(entity);
+        } finally {
+            K id = idExtractor.apply(entity);
+            if (id != null) {
+                evict(id);
+            }
+        }
+    }
+
+    @Override
+    public int upsertAll(Collection<E> entities) {
+        try {
+            return delegate.upsertAll(entities);
+        } finally {
+            entities.stream()
+                    .map(idExtractor)
+                    .filter(Objects::nonNull)
+                    .forEach(this::evict);
+        }
+    }
+
+    @Override
+    public boolean patch(E entity, Set<F> fields) {
+        try {
+            return delegate.patch(entity, fields);
+        } finally {
+            evict(idExtractor.apply(entity));
+        }
+    }
+
+    @Override
+    public int patchAll(Collection<E> entities, Set<F> fields) {
+        try {
+            return delegate.patchAll(entities, fields);
+        } finally {
+            entities.forEach(entity -> evict(idExtractor.apply(entity)));
+        }
+    }
+
+    @Override
+    public boolean delete(K id) {
+        try {
+            return delegate.delete(id);
+        } finally {
+            evict(id);
+        }
+    }
+
+    @Override
+    public int deleteAllById(Collection<K> ids) {
+        try {
+            return delegate.deleteAllById(ids);
+        } finally {
+            ids.forEach(this::evict);
+        }
+    }
+
+    public void preload() {
+        long generation = cache.generation();
+        try (Stream<E> entities = delegate.streamAll()) {
+            entities.forEach(entity -> cache.putIfUnchanged(idExtractor.apply(entity), copier.apply(entity), generation));
+        }
+    }
+
+    public void invalidate(K id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+
+    private ChangeListener changeListener(String table, Function<String, K> keyParser) {
+        return new ChangeListener() {
+            @Override
+            public void onReferenceChange(ReferenceChangeEvent event) {
+                if (!table.equals(event.getTable())) {
+                    return;
+                }
+                if (event.getOperation() == ChangeOperation.REFRESH) {
+                    cache.invalidateAll();
+                    return;
+                }
+                if (event.getKey() != null) {
+                    cache.invalidate(keyParser.apply(event.getKey()));
+                }
+                if (event.getPreviousKey() != null) {
+                    cache.invalidate(keyParser.apply(event.getPreviousKey()));
+                }
+            }
+
+            @Override
+            public void onResync() {
+                cache.invalidateAll();
+            }
+        };
+    }
+
+    private void evict(K id) {
+        cache.invalidate(id);
+        if (TransactionManager.isActive()) {
+            TransactionManager.afterCommit(() -> cache.invalidate(id));
+        }
+    }
+}
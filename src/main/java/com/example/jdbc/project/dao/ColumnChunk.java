@@ -0,0 +1,43 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.util.PropertiesUtil;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+abstract class ColumnChunk {
+    private static final String CHUNK_SIZE = "dao.columnar.chunk.size";
+    private static final int DEFAULT_CHUNK_SIZE = 4096;
+    static final int DEFAULT_CAPACITY = PropertiesUtil.getInt(CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
+    protected final int capacity;
+    protected int size;
+
+    ColumnChunk(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void append(ResultSet resultSet) throws SQLException {
+        read(resultSet, size++);
+    }
+
+    abstract void read(ResultSet resultSet, int row) throws SQLException;
+}
@@ -0,0 +1,240 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.Flight;
+import com.example.jdbc.project.entity.Ticket;
+import com.example.jdbc.project.exception.DaoException;
+import com.example.jdbc.project.util.ConnectionManager;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.CopyOut;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+public class CopyDao {
+    private static final CopyDao INSTANCE = new CopyDao();
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String COPY_IN_SQL = "COPY %s(%s) FROM STDIN WITH (FORMAT csv%s)";
+    private static final String COPY_OUT_SQL = "COPY %s(%s) TO STDOUT WITH (FORMAT csv%s)";
+
+    public enum Table {
+        TICKET("ticket", "passenger_no, passenger_name, flight_id, seat_no, cost"),
+        FLIGHT("flight", "flight_no, departure_date, departure_airport_code, arrival_date, arrival_airport_code, aircraft_id, status");
+
+        private final String name;
+        private final String columns;
+
+        Table(String name, String columns) {
+            this.name = name;
+            this.columns = columns;
+        }
+
+        private String columns(IdMode idMode) {
+            return idMode == IdMode.PRESERVE ? "id, " + columns : columns;
+        }
+    }
+
+    public enum IdMode {
+        GENERATE,
+        PRESERVE
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(Writer writer, T row, IdMode idMode) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface CopyAction {
+        long run() throws SQLException, IOException;
+    }
+
+    private CopyDao() {
+    }
+
+    public long importTickets(Stream<Ticket> tickets, IdMode idMode) {
+        return importRows(Table.TICKET, tickets, idMode, this::writeTicket);
+    }
+
+    public long importFlights(Stream<Flight> flights, IdMode idMode) {
+        return importRows(Table.FLIGHT, flights, idMode, this::writeFlight);
+    }
+
+    public long importCsv(Table table, Path source, IdMode idMode, boolean header) {
+        String sql = String.format(COPY_IN_SQL, table.name, table.columns(idMode), header ? ", HEADER true" : "");
+        try (Connection connection = ConnectionManager.getConnection();
+             InputStream inputStream = Files.newInputStream(source)) {
+            return inTransaction(connection, table, idMode,
+                    () -> copyManager(connection).copyIn(sql, inputStream, BUFFER_SIZE));
+        } catch (SQLException | IOException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    public long exportCsv(Table table, Path target, boolean header) {
+        String sql = String.format(COPY_OUT_SQL, table.name, table.columns(IdMode.PRESERVE), header ? ", HEADER true" : "");
+        try (Connection connection = ConnectionManager.getReadConnection();
+             FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CopyOut copyOut = copyManager(connection).copyOut(sql);
+            try {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                byte[] row;
+                while ((row = copyOut.readFromCopy()) != null) {
+                    if (row.length > buffer.remaining()) {
+                        drain(buffer, channel);
+                    }
+                    if (row.length > buffer.capacity()) {
+                        channel.write(ByteBuffer.wrap(row));
+                    } else {
+                        buffer.put(row);
+                    }
+                }
+                drain(buffer, channel);
+                return copyOut.getHandledRowCount();
+            } finally {
+                if (copyOut.isActive()) {
+                    copyOut.cancelCopy();
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private <T> long importRows(Table table, Stream<T> rows, IdMode idMode, RowWriter<T> rowWriter) {
+        String sql = String.format(COPY_IN_SQL, table.name, table.columns(idMode), "");
+        try (Connection connection = ConnectionManager.getConnection()) {
+            return inTransaction(connection, table, idMode, () -> {
+                PGCopyOutputStream copyIn = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, BUFFER_SIZE);
+                try {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(copyIn, StandardCharsets.UTF_8), BUFFER_SIZE);
+                    Iterator<T> iterator = rows.iterator();
+                    while (iterator.hasNext()) {
+                        rowWriter.write(writer, iterator.next(), idMode);
+                    }
+                    writer.flush();
+                    return copyIn.endCopy();
+                } finally {
+                    if (copyIn.isActive()) {
+                        copyIn.cancelCopy();
+                    }
+                }
+            });
+        } catch (SQLException | IOException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private long inTransaction(Connection connection, Table table, IdMode idMode, CopyAction action) throws SQLException, IOException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            long rows = action.run();
+            if (idMode == IdMode.PRESERVE) {
+                Sequences.sync(connection, table.name);
+            }
+            connection.commit();
+            ConnectionManager.recordWrite();
+            return rows;
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private CopyManager copyManager(Connection connection) throws SQLException {
+        return connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+
+    private void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void writeTicket(Writer writer, Ticket ticket, IdMode idMode) throws IOException {
+        if (idMode == IdMode.PRESERVE) {
+            writeField(writer, ticket.getId());
+            writer.write(',');
+        }
+        writeField(writer, ticket.getPassengerNo());
+        writer.write(',');
+        writeField(writer, ticket.getPassengerName());
+        writer.write(',');
+        writeField(writer, ticket.getFlightId());
+        writer.write(',');
+        writeField(writer, ticket.getSeatNo());
+        writer.write(',');
+        writeField(writer, ticket.getCost());
+        writer.write('\n');
+    }
+
+    private void writeFlight(Writer writer, Flight flight, IdMode idMode) throws IOException {
+        if (idMode == IdMode.PRESERVE) {
+            writeField(writer, flight.getId());
+            writer.write(',');
+        }
+        writeField(writer, flight.getFlightNo());
+        writer.write(',');
+        writeField(writer, flight.getDepartureDate());
+        writer.write(',');
+        writeField(writer, flight.getDepartureAirportCode());
+        writer.write(',');
+        writeField(writer, flight.getArrivalDate());
+        writer.write(',');
+        writeField(writer, flight.getArrivalAirportCode());
+        writer.write(',');
+        writeField(writer, flight.getAircraftId());
+        writer.write(',');
+        writeField(writer, flight.getStatus());
+        writer.write('\n');
+    }
+
+    private void writeField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean quote = text.isEmpty();
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    public static CopyDao getInstance() {
+        return INSTANCE;
+    }
+}
@@ -1,17 +1,33 @@
 package com.example.jdbc.project.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface Dao<K, E> {
 
     E create(E entity);
 
+    List<E> createAll(Collection<E> entities);
+
+    List<E> createAll(Collection<E> entities, BatchMode mode);
+
     Optional<E> findById(K id);
 
     List<E> findAll();
 
+    Stream<E> streamAll();
+
     void update(E entity);
 
+    int updateAll(Collection<E> entities);
+
+    E upsert(E entity);
+
+    int upsertAll(Collection<E> entities);
+
     boolean delete(K id);
+
+    int deleteAllById(Collection<K> ids);
 }
@@ -0,0 +1,174 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.Flight;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public final class FlightColumns extends ColumnChunk {
+    static final String SELECT_SQL = "SELECT id, flight_no, " +
+            "(extract(epoch FROM departure_date) * 1000000)::bigint, departure_airport_code, " +
+            "(extract(epoch FROM arrival_date) * 1000000)::bigint, arrival_airport_code, " +
+            "aircraft_id, status FROM flight";
+    private final long[] ids;
+    private final int[] flightNos;
+    private final long[] departureMicros;
+    private final int[] departureAirportCodes;
+    private final long[] arrivalMicros;
+    private final int[] arrivalAirportCodes;
+    private final int[] aircraftIds;
+    private final int[] statuses;
+    private final StringDictionary flightNoDictionary = new StringDictionary();
+    private final StringDictionary airportCodeDictionary = new StringDictionary();
+    private final StringDictionary statusDictionary = new StringDictionary();
+    private final Row row = new Row();
+
+    FlightColumns(int capacity) {
+        super(capacity);
+        this.ids = new long[capacity];
+        this.flightNos = new int[capacity];
+        this.departureMicros = new long[capacity];
+        this.departureAirportCodes = new int[capacity];
+        this.arrivalMicros = new long[capacity];
+        this.arrivalAirportCodes = new int[capacity];
+        this.aircraftIds = new int[capacity];
+        this.statuses = new int[capacity];
+    }
+
+    @Override
+    void read(ResultSet resultSet, int index) throws SQLException {
+        ids[index] = resultSet.getLong(1);
+        flightNos[index] = flightNoDictionary.encode(resultSet.getBytes(2));
+        departureMicros[index] = resultSet.getLong(3);
+        departureAirportCodes[index] = airportCodeDictionary.encode(resultSet.getBytes(4));
+        arrivalMicros[index] = resultSet.getLong(5);
+        arrivalAirportCodes[index] = airportCodeDictionary.encode(resultSet.getBytes(6));
+        aircraftIds[index] = resultSet.getInt(7);
+        statuses[index] = statusDictionary.encode(resultSet.getBytes(8));
+    }
+
+    public long[] getIds() {
+        return ids;
+    }
+
+    public long[] getDepartureEpochMicros() {
+        return departureMicros;
+    }
+
+    public long[] getArrivalEpochMicros() {
+        return arrivalMicros;
+    }
+
+    public int[] getAircraftIds() {
+        return aircraftIds;
+    }
+
+    public int[] getFlightNoCodes() {
+        return flightNos;
+    }
+
+    public int[] getDepartureAirportCodes() {
+        return departureAirportCodes;
+    }
+
+    public int[] getArrivalAirportCodes() {
+        return arrivalAirportCodes;
+    }
+
+    public int[] getStatusCodes() {
+        return statuses;
+    }
+
+    public StringDictionary getFlightNoDictionary() {
+        return flightNoDictionary;
+    }
+
+    public StringDictionary getAirportCodeDictionary() {
+        return airportCodeDictionary;
+    }
+
+    public StringDictionary getStatusDictionary() {
+        return statusDictionary;
+    }
+
+    public Row row(int index) {
+        row.index = index;
+        return row;
+    }
+
+    public void forEachRow(Consumer<? super Row> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(row(i));
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMicros) {
+        long seconds = Math.floorDiv(epochMicros, 1_000_000L);
+        int nanos = (int) TimeUnit.MICROSECONDS.toNanos(Math.floorMod(epochMicros, 1_000_000L));
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    public final class Row {
+        private int index;
+
+        private Row() {
+        }
+
+        public long getId() {
+            return ids[index];
+        }
+
+        public String getFlightNo() {
+            return flightNoDictionary.get(flightNos[index]);
+        }
+
+        public long getDepartureEpochMicros() {
+            return departureMicros[index];
+        }
+
+        public LocalDateTime getDepartureDate() {
+            return toLocalDateTime(departureMicros[index]);
+        }
+
+        public String getDepartureAirportCode() {
+            return airportCodeDictionary.get(departureAirportCodes[index]);
+        }
+
+        public long getArrivalEpochMicros() {
+            return arrivalMicros[index];
+        }
+
+        public LocalDateTime getArrivalDate() {
+            return toLocalDateTime(arrivalMicros[index]);
+        }
+
+        public String getArrivalAirportCode() {
+            return airportCodeDictionary.get(arrivalAirportCodes[index]);
+        }
+
+        public int getAircraftId() {
+            return aircraftIds[index];
+        }
+
+        public String getStatus() {
+            return statusDictionary.get(statuses[index]);
+        }
+
+        public Flight toFlight() {
+            return Flight.builder()
+                    .id(getId())
+                    .flightNo(getFlightNo())
+                    .departureDate(getDepartureDate())
+                    .departureAirportCode(getDepartureAirportCode())
+                    .arrivalDate(getArrivalDate())
+                    .arrivalAirportCode(getArrivalAirportCode())
+                    .aircraftId(getAircraftId())
+                    .status(getStatus())
+                    .build();
+        }
+    }
+}
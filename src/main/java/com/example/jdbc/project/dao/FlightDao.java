@@ -1,8 +1,16 @@
 package com.example.jdbc.project.dao;
 
+import com.example.jdbc.project.dto.FlightFilter;
+import com.example.jdbc.project.dto.FlightScheduleQuery;
+import com.example.jdbc.project.dto.Page;
+import com.example.jdbc.project.dto.FlightDetails;
+import com.example.jdbc.project.entity.Aircraft;
+import com.example.jdbc.project.entity.Airport;
 import com.example.jdbc.project.entity.Flight;
+import com.example.jdbc.project.entity.FlightMapping;
 import com.example.jdbc.project.exception.DaoException;
 import com.example.jdbc.project.util.ConnectionManager;
+import com.example.jdbc.project.util.TransactionManager;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -10,62 +18,54 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class FlightDao implements Dao<Long, Flight> {
+public class FlightDao implements PatchableDao<Long, Flight, FlightMapping.Field> {
     private static final FlightDao INSTANCE = new FlightDao();
-    private static final String CREATE_SQL = "INSERT INTO flight(" +
-            "flight_no," +
-            " departure_date," +
-            " departure_airport_code," +
-            " arrival_date," +
-            " arrival_airport_code," +
-            " aircraft_id," +
-            " status) " +
-            "VALUES(?,?,?,?,?,?,?) ";
-    private static final String FIND_BY_ID_SQL = "SELECT " +
-            "id," +
-            "flight_no," +
-            "departure_date," +
-            "departure_airport_code," +
-            "arrival_date," +
-            "arrival_airport_code," +
-            "aircraft_id," +
-            "status FROM flight WHERE id = ?";
-    private static final String FIND_ALL_SQL = "SELECT " +
-            "id," +
-            "flight_no," +
-            "departure_date," +
-            "departure_airport_code," +
-            "arrival_date," +
-            "arrival_airport_code," +
-            "aircraft_id," +
-            "status FROM flight";
-    private static final String UPDATE_SQL = "UPDATE flight SET" +
-            " flight_no= ?," +
-            "departure_date = ?," +
-            "departure_airport_code = ?," +
-            "arrival_date = ?," +
-            "arrival_airport_code = ?," +
-            "aircraft_id = ?," +
-            "status = ? WHERE id = ?";
-    private static final String DELETE_SQL = "DELETE FROM flight WHERE id = ?";
+    private static final String FIND_DETAILS_BY_IDS_SQL = "SELECT " +
+            "f.id," +
+            "f.flight_no," +
+            "f.departure_date," +
+            "f.departure_airport_code," +
+            "f.arrival_date," +
+            "f.arrival_airport_code," +
+            "f.aircraft_id," +
+            "f.status," +
+            "da.country departure_country," +
+            "da.city departure_city," +
+            "aa.country arrival_country," +
+            "aa.city arrival_city," +
+            "ac.model," +
+            "s.seat_no," +
+            "t.id IS NOT NULL occupied " +
+            "FROM flight f " +
+            "JOIN airport da ON da.code = f.departure_airport_code " +
+            "JOIN airport aa ON aa.code = f.arrival_airport_code " +
+            "JOIN aircraft ac ON ac.id = f.aircraft_id " +
+            "LEFT JOIN seat s ON s.aircraft_id = f.aircraft_id " +
+            "LEFT JOIN ticket t ON t.flight_id = f.id AND t.seat_no = s.seat_no " +
+            "WHERE f.id = ANY (?) " +
+            "ORDER BY f.id, s.seat_no";
 
     private FlightDao() {
     }
 
     public Flight create(Flight flight) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(CREATE_SQL, Statement.RETURN_GENERATED_KEYS);
-            preparedStatement.setString(1, flight.getFlightNo());
-            preparedStatement.setTimestamp(2, Timestamp.valueOf(flight.getDepartureDate()));
-            preparedStatement.setString(3, flight.getDepartureAirportCode());
-            preparedStatement.setTimestamp(4, Timestamp.valueOf(flight.getArrivalDate()));
-            preparedStatement.setString(5, flight.getArrivalAirportCode());
-            preparedStatement.setInt(6, flight.getAircraftId());
-            preparedStatement.setString(7, flight.getStatus());
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(FlightMapping.INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            FlightMapping.bindInsert(preparedStatement, flight);
             preparedStatement.executeUpdate();
             ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
             if (generatedKeys.next()) {
@@ -77,14 +77,30 @@ public class FlightDao implements Dao<Long, Flight> {
         }
     }
 
+    @Override
+    public List<Flight> createAll(Collection<Flight> flights) {
+        return createAll(flights, BatchExecutor.defaultMode());
+    }
+
+    @Override
+    public List<Flight> createAll(Collection<Flight> flights, BatchMode mode) {
+        try {
+            BatchExecutor.execute(FlightMapping.INSERT_SQL, flights, FlightMapping::bindInsert,
+                    (flight, generatedKeys) -> flight.setId(generatedKeys.getLong("id")), mode);
+            return new ArrayList<>(flights);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
     public Optional<Flight> findById(Long id) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(FIND_BY_ID_SQL);
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(FlightMapping.FIND_BY_ID_SQL)) {
             preparedStatement.setLong(1, id);
             ResultSet resultSet = preparedStatement.executeQuery();
             Flight flight = null;
             if (resultSet.next()) {
-                flight = getBuild(resultSet);
+                flight = FlightMapping.map(resultSet);
             }
             return Optional.ofNullable(flight);
         } catch (SQLException e) {
@@ -94,12 +110,12 @@ public class FlightDao implements Dao<Long, Flight> {
     }
 
     public List<Flight> findAll() {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(FIND_ALL_SQL);
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(FlightMapping.SELECT_SQL)) {
             ResultSet resultSet = preparedStatement.executeQuery();
             List<Flight> flightList = new ArrayList<>();
             while (resultSet.next()) {
-                flightList.add(getBuild(resultSet));
+                flightList.add(FlightMapping.map(resultSet));
             }
             return flightList;
 
@@ -108,26 +124,278 @@ public class FlightDao implements Dao<Long, Flight> {
         }
     }
 
+    public Stream<Flight> streamAll(FlightFilter flightFilter) {
+        List<Object> parameters = new ArrayList<>();
+        String sql = buildFilterSql(flightFilter, flightFilter.getLimit(), parameters);
+        return ResultSetStream.of(sql, parameters, FlightMapping::map);
+    }
+
+    public Page<Flight> findPage(FlightFilter flightFilter) {
+        if (flightFilter.getLimit() <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + flightFilter.getLimit());
+        }
+        List<Object> parameters = new ArrayList<>();
+        String sql = buildFilterSql(flightFilter, flightFilter.getLimit() + 1, parameters);
+        List<Flight> flightList = findAll(sql, parameters);
+        Long nextCursor = null;
+        if (flightList.size() > flightFilter.getLimit()) {
+            flightList = flightList.subList(0, flightFilter.getLimit());
+            nextCursor = flightList.get(flightList.size() - 1).getId();
+        }
+        return new Page<>(flightList, nextCursor);
+    }
+
+    public List<Flight> findAll(FlightFilter flightFilter) {
+        List<Object> parameters = new ArrayList<>();
+        String sql = buildFilterSql(flightFilter, flightFilter.getLimit(), parameters);
+        return findAll(sql, parameters);
+    }
+
+    private String buildFilterSql(FlightFilter flightFilter, int limit, List<Object> parameters) {
+        String where = new WhereBuilder(parameters)
+                .and("id > ?", flightFilter.getAfterId())
+                .and("departure_airport_code = ?", flightFilter.getDepartureAirportCode())
+                .and("arrival_airport_code = ?", flightFilter.getArrivalAirportCode())
+                .and("departure_date >= ?", toTimestamp(flightFilter.getDepartureFrom()))
+                .and("departure_date < ?", toTimestamp(flightFilter.getDepartureTo()))
+                .and("status = ?", flightFilter.getStatus())
+                .build();
+        parameters.add(limit);
+        return FlightMapping.SELECT_SQL + where + " ORDER BY id LIMIT ?";
+    }
+
+    public Stream<Flight> streamSchedule(FlightScheduleQuery query) {
+        List<Object> parameters = new ArrayList<>();
+        String sql = buildScheduleSql(query, parameters);
+        return ResultSetStream.of(sql, parameters, FlightMapping::map);
+    }
+
+    public Stream<Flight> streamByRoute(String departureAirportCode, String arrivalAirportCode,
+                                       LocalDateTime departureFrom, LocalDateTime departureTo) {
+        return streamSchedule(FlightScheduleQuery.builder()
+                .departureAirportCode(departureAirportCode)
+                .arrivalAirportCode(arrivalAirportCode)
+                .departureFrom(departureFrom)
+                .departureTo(departureTo)
+                .build());
+    }
+
+    public Stream<Flight> streamByStatus(String status, LocalDateTime departureFrom, LocalDateTime departureTo) {
+        return streamSchedule(FlightScheduleQuery.builder()
+                .status(status)
+                .departureFrom(departureFrom)
+                .departureTo(departureTo)
+                .build());
+    }
+
+    public List<Flight> findNextDepartures(String departureAirportCode, LocalDateTime after, int limit) {
+        try (Stream<Flight> flights = streamSchedule(FlightScheduleQuery.builder()
+                .departureAirportCode(departureAirportCode)
+                .departureFrom(after)
+                .limit(limit)
+                .build())) {
+            return flights.collect(Collectors.toList());
+        }
+    }
+
+    private String buildScheduleSql(FlightScheduleQuery query, List<Object> parameters) {
+        String where = new WhereBuilder(parameters)
+                .and("departure_airport_code = ?", query.getDepartureAirportCode())
+                .and("arrival_airport_code = ?", query.getArrivalAirportCode())
+                .and("status = ?", query.getStatus())
+                .and("departure_date >= ?", toTimestamp(query.getDepartureFrom()))
+                .and("departure_date < ?", toTimestamp(query.getDepartureTo()))
+                .build();
+        String sql = FlightMapping.SELECT_SQL + where + " ORDER BY departure_date";
+        if (query.getLimit() > 0) {
+            parameters.add(query.getLimit());
+            sql += " LIMIT ?";
+        }
+        return sql;
+    }
+
+    private Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime == null ? null : Timestamp.valueOf(dateTime);
+    }
+
+    private List<Flight> findAll(String sql, List<Object> parameters) {
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                preparedStatement.setObject(i + 1, parameters.get(i));
+            }
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<Flight> flightList = new ArrayList<>();
+            while (resultSet.next()) {
+                flightList.add(FlightMapping.map(resultSet));
+            }
+            return flightList;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    public Optional<FlightDetails> findDetailsById(Long id) {
+        return findDetailsByIds(Collections.singletonList(id)).stream().findFirst();
+    }
+
+    public List<FlightDetails> findDetailsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(FIND_DETAILS_BY_IDS_SQL)) {
+            preparedStatement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            ResultSet resultSet = preparedStatement.executeQuery();
+            Map<Long, FlightDetails> details = new LinkedHashMap<>();
+            while (resultSet.next()) {
+                FlightDetails flightDetails = details.get(resultSet.getLong("id"));
+                if (flightDetails == null) {
+                    flightDetails = buildDetails(resultSet);
+                    details.put(resultSet.getLong("id"), flightDetails);
+                }
+                String seatNo = resultSet.getString("seat_no");
+                if (seatNo != null) {
+                    flightDetails.getSeats().add(seatNo);
+                    if (resultSet.getBoolean("occupied")) {
+                        flightDetails.getOccupiedSeats().add(seatNo);
+                    }
+                }
+            }
+            return new ArrayList<>(details.values());
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private FlightDetails buildDetails(ResultSet resultSet) throws SQLException {
+        Flight flight = FlightMapping.map(resultSet);
+        return FlightDetails.builder()
+                .flight(flight)
+                .departureAirport(Airport.builder()
+                        .code(flight.getDepartureAirportCode())
+                        .country(resultSet.getString("departure_country"))
+                        .city(resultSet.getString("departure_city"))
+                        .build())
+                .arrivalAirport(Airport.builder()
+                        .code(flight.getArrivalAirportCode())
+                        .country(resultSet.getString("arrival_country"))
+                        .city(resultSet.getString("arrival_city"))
+                        .build())
+                .aircraft(Aircraft.builder()
+                        .id(flight.getAircraftId())
+                        .model(resultSet.getString("model"))
+                        .build())
+                .seats(new ArrayList<>())
+                .occupiedSeats(new LinkedHashSet<>())
+                .build();
+    }
+
+    @Override
+    public Stream<Flight> streamAll() {
+        return ResultSetStream.of(FlightMapping.SELECT_SQL, FlightMapping::map);
+    }
+
+    public Stream<Flight> parallelStreamAll() {
+        return ParallelScan.stream(FlightMapping.TABLE, FlightMapping.SELECT_SQL, FlightMapping::map);
+    }
+
+    public void forEachParallel(Consumer<? super Flight> consumer) {
+        ParallelScan.forEach(FlightMapping.TABLE, FlightMapping.SELECT_SQL, FlightMapping::map, consumer);
+    }
+
+    public void forEachColumns(Consumer<? super FlightColumns> consumer) {
+        forEachColumns(ColumnChunk.DEFAULT_CAPACITY, consumer);
+    }
+
+    public void forEachColumns(int chunkSize, Consumer<? super FlightColumns> consumer) {
+        ResultSetStream.forEachChunk(FlightColumns.SELECT_SQL, new FlightColumns(chunkSize), consumer);
+    }
+
     public void update(Flight flight) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_SQL);
-            preparedStatement.setString(1, flight.getFlightNo());
-            preparedStatement.setTimestamp(2, Timestamp.valueOf(flight.getDepartureDate()));
-            preparedStatement.setString(3, flight.getDepartureAirportCode());
-            preparedStatement.setTimestamp(4, Timestamp.valueOf(flight.getArrivalDate()));
-            preparedStatement.setString(5, flight.getArrivalAirportCode());
-            preparedStatement.setInt(6, flight.getAircraftId());
-            preparedStatement.setString(7, flight.getStatus());
-            preparedStatement.setLong(8, flight.getId());
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(FlightMapping.UPDATE_SQL)) {
+            FlightMapping.bindUpdate(preparedStatement, flight);
             preparedStatement.executeUpdate();
         } catch (SQLException e) {
             throw new DaoException(e);
         }
     }
 
+    @Override
+    public int updateAll(Collection<Flight> flights) {
+        try {
+            return BatchExecutor.execute(FlightMapping.UPDATE_SQL, flights, FlightMapping::bindUpdate);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    @Override
+    public Flight upsert(Flight flight) {
+        if (flight.getId() == null) {
+            return create(flight);
+        }
+        return TransactionManager.inTransaction(() -> {
+            try (Connection connection = ConnectionManager.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(FlightMapping.UPSERT_SQL)) {
+                FlightMapping.bindUpsert(preparedStatement, flight);
+                preparedStatement.executeUpdate();
+                Sequences.sync(connection, FlightMapping.TABLE);
+                return flight;
+            }
+        });
+    }
+
+    @Override
+    public int upsertAll(Collection<Flight> flights) {
+        List<Flight> created = new ArrayList<>();
+        List<Flight> upserted = new ArrayList<>();
+        for (Flight flight : flights) {
+            (flight.getId() == null ? created : upserted).add(flight);
+        }
+        return TransactionManager.inTransaction(() -> {
+            int updated = BatchExecutor.execute(FlightMapping.UPSERT_SQL, upserted, FlightMapping::bindUpsert);
+            if (!upserted.isEmpty()) {
+                try (Connection connection = ConnectionManager.getConnection()) {
+                    Sequences.sync(connection, FlightMapping.TABLE);
+                }
+            }
+            createAll(created);
+            return updated + created.size();
+        });
+    }
+
+    @Override
+    public boolean patch(Flight flight, Set<FlightMapping.Field> fields) {
+        if (fields.isEmpty()) {
+            return false;
+        }
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(FlightMapping.patchSql(fields))) {
+            FlightMapping.bindPatch(preparedStatement, flight, fields);
+            return preparedStatement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    @Override
+    public int patchAll(Collection<Flight> flights, Set<FlightMapping.Field> fields) {
+        if (fields.isEmpty()) {
+            return 0;
+        }
+        try {
+            return BatchExecutor.execute(FlightMapping.patchSql(fields), flights,
+                    (preparedStatement, flight) -> FlightMapping.bindPatch(preparedStatement, flight, fields));
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
     public boolean delete(Long id) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(DELETE_SQL);
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(FlightMapping.DELETE_SQL)) {
             preparedStatement.setLong(1, id);
             return preparedStatement.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -135,18 +403,13 @@ public class FlightDao implements Dao<Long, Flight> {
         }
     }
 
-    private Flight getBuild(ResultSet resultSet) throws SQLException {
-        return Flight.builder()
-                .id(resultSet.getLong("id"))
-                .flightNo(resultSet.getString("flight_no"))
-                .departureDate(resultSet.getTimestamp("departure_date").toLocalDateTime())
-                .departureAirportCode(resultSet.getString("departure_airport_code"))
-                .arrivalDate(resultSet.getTimestamp("arrival_date").toLocalDateTime())
-                .arrivalAirportCode(resultSet.getString("arrival_airport_code"))
-                .aircraftId(resultSet.getInt("aircraft_id"))
-                .status(resultSet.getString("status"))
-                .build();
-
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        try {
+            return BatchExecutor.execute(FlightMapping.DELETE_SQL, ids, (preparedStatement, id) -> preparedStatement.setLong(1, id));
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
     }
 
 
@@ -0,0 +1,99 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.exception.DaoException;
+import com.example.jdbc.project.util.ConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+final class IdRangeSpliterator<T> implements Spliterator<T> {
+    private final String sql;
+    private final RowMapper<T> rowMapper;
+    private final long chunkSize;
+    private final long to;
+    private final Deque<T> buffer = new ArrayDeque<>();
+    private long from;
+
+    IdRangeSpliterator(String sql, RowMapper<T> rowMapper, long chunkSize, long from, long to) {
+        this.sql = sql;
+        this.rowMapper = rowMapper;
+        this.chunkSize = chunkSize;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (buffer.isEmpty()) {
+            if (from >= to) {
+                return false;
+            }
+            long end = nextChunkEnd();
+            scan(from, end, buffer::add);
+            from = end;
+        }
+        action.accept(buffer.poll());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (!buffer.isEmpty()) {
+            action.accept(buffer.poll());
+        }
+        while (from < to) {
+            long end = nextChunkEnd();
+            scan(from, end, action);
+            from = end;
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long span = to - from;
+        if (!buffer.isEmpty() || span <= chunkSize) {
+            return null;
+        }
+        long middle = from + span / 2;
+        IdRangeSpliterator<T> prefix = new IdRangeSpliterator<>(sql, rowMapper, chunkSize, from, middle);
+        from = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from + buffer.size();
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    private long nextChunkEnd() {
+        return to - from > chunkSize ? from + chunkSize : to;
+    }
+
+    private void scan(long start, long end, Consumer<? super T> action) {
+        ParallelScan.acquire();
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setLong(1, start);
+            preparedStatement.setLong(2, end);
+            ResultSet resultSet = preparedStatement.executeQuery();
+            while (resultSet.next()) {
+                action.accept(rowMapper.map(resultSet));
+            }
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        } finally {
+            ParallelScan.release();
+        }
+    }
+}
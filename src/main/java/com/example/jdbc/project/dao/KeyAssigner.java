@@ -0,0 +1,10 @@
+package com.example.jdbc.project.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@FunctionalInterface
+interface KeyAssigner<T> {
+
+    void assign(T entity, ResultSet generatedKeys) throws SQLException;
+}
@@ -0,0 +1,90 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.exception.DaoException;
+import com.example.jdbc.project.util.ConnectionManager;
+import com.example.jdbc.project.util.ConnectionPool;
+import com.example.jdbc.project.util.PropertiesUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class ParallelScan {
+    private static final String CHUNK_SIZE = "dao.scan.chunk.size";
+    private static final String PARALLELISM = "dao.scan.parallelism";
+    private static final String BOUNDS_SQL = "SELECT min(id), max(id) FROM %s";
+    private static final String RANGE_SQL = "%s WHERE id >= ? AND id < ? ORDER BY id";
+    private static final long DEFAULT_CHUNK_SIZE = 10_000L;
+    private static final long SIZE = PropertiesUtil.getLong(CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
+    private static final Semaphore PERMITS = new Semaphore(parallelism(), true);
+
+    private ParallelScan() {
+    }
+
+    static <T> Stream<T> stream(String table, String selectSql, RowMapper<T> rowMapper) {
+        long[] bounds = findBounds(table);
+        if (bounds == null) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(new IdRangeSpliterator<>(String.format(RANGE_SQL, selectSql), rowMapper, SIZE,
+                bounds[0], bounds[1] + 1), true);
+    }
+
+    static <T> void forEach(String table, String selectSql, RowMapper<T> rowMapper, Consumer<? super T> consumer) {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism());
+        try {
+            forkJoinPool.submit(() -> stream(table, selectSql, rowMapper).forEach(consumer)).join();
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    static int parallelism() {
+        int bound = Math.min(Runtime.getRuntime().availableProcessors(), readPoolSize());
+        return Math.max(1, Math.min(PropertiesUtil.getInt(PARALLELISM, bound), bound));
+    }
+
+    static void acquire() {
+        try {
+            PERMITS.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DaoException("Interrupted while waiting for a parallel scan slot", e);
+        }
+    }
+
+    static void release() {
+        PERMITS.release();
+    }
+
+    private static int readPoolSize() {
+        List<ConnectionPool> replicas = ConnectionManager.getReplicaPools();
+        if (replicas.isEmpty()) {
+            return ConnectionManager.getPool().getConfig().getMaxSize();
+        }
+        int size = 0;
+        for (ConnectionPool replica : replicas) {
+            size += replica.getConfig().getMaxSize();
+        }
+        return size;
+    }
+
+    private static long[] findBounds(String table) {
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(String.format(BOUNDS_SQL, table))) {
+            ResultSet resultSet = preparedStatement.executeQuery();
+            resultSet.next();
+            long min = resultSet.getLong(1);
+            return resultSet.wasNull() ? null : new long[]{min, resultSet.getLong(2)};
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.jdbc.project.dao;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface PatchableDao<K, E, F extends Enum<F>> extends Dao<K, E> {
+
+    boolean patch(E entity, Set<F> fields);
+
+    int patchAll(Collection<E> entities, Set<F> fields);
+}
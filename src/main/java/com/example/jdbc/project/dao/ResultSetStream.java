@@ -0,0 +1,140 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.exception.DaoException;
+import com.example.jdbc.project.util.ConnectionManager;
+import com.example.jdbc.project.util.PropertiesUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class ResultSetStream {
+    private static final String FETCH_SIZE = "dao.fetch.size";
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+    private static final int SIZE = PropertiesUtil.getInt(FETCH_SIZE, DEFAULT_FETCH_SIZE);
+
+    private ResultSetStream() {
+    }
+
+    static <T> Stream<T> of(String sql, RowMapper<T> rowMapper) {
+        return of(sql, Collections.emptyList(), rowMapper);
+    }
+
+    static <T> Stream<T> of(String sql, List<Object> parameters, RowMapper<T> rowMapper) {
+        Connection connection = null;
+        boolean autoCommit = true;
+        try {
+            connection = ConnectionManager.getReadConnection();
+            autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            PreparedStatement preparedStatement = connection.prepareStatement(sql);
+            preparedStatement.setFetchSize(SIZE);
+            for (int i = 0; i < parameters.size(); i++) {
+                preparedStatement.setObject(i + 1, parameters.get(i));
+            }
+            ResultSet resultSet = preparedStatement.executeQuery();
+            Connection streamConnection = connection;
+            boolean streamAutoCommit = autoCommit;
+            return StreamSupport.stream(new ResultSetSpliterator<>(resultSet, rowMapper), false)
+                    .onClose(() -> release(streamConnection, streamAutoCommit, preparedStatement));
+        } catch (SQLException e) {
+            releaseQuietly(connection, autoCommit);
+            throw new DaoException(e);
+        } catch (RuntimeException e) {
+            releaseQuietly(connection, autoCommit);
+            throw e;
+        }
+    }
+
+    static <C extends ColumnChunk> void forEachChunk(String sql, C chunk, Consumer<? super C> consumer) {
+        Connection connection = null;
+        boolean autoCommit = true;
+        try {
+            connection = ConnectionManager.getReadConnection();
+            autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                preparedStatement.setFetchSize(chunk.capacity());
+                ResultSet resultSet = preparedStatement.executeQuery();
+                boolean more = true;
+                while (more) {
+                    chunk.clear();
+                    while (!chunk.isFull() && (more = resultSet.next())) {
+                        chunk.append(resultSet);
+                    }
+                    if (chunk.size() > 0) {
+                        consumer.accept(chunk);
+                    }
+                }
+            }
+            release(connection, autoCommit);
+        } catch (SQLException e) {
+            releaseQuietly(connection, autoCommit);
+            throw new DaoException(e);
+        } catch (RuntimeException e) {
+            releaseQuietly(connection, autoCommit);
+            throw e;
+        }
+    }
+
+    private static void release(Connection connection, boolean autoCommit) {
+        try (Connection ignored = connection) {
+            connection.commit();
+            connection.setAutoCommit(autoCommit);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private static void release(Connection connection, boolean autoCommit, PreparedStatement preparedStatement) {
+        try (Connection ignored = connection; PreparedStatement ignoredStatement = preparedStatement) {
+            connection.commit();
+            connection.setAutoCommit(autoCommit);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private static void releaseQuietly(Connection connection, boolean autoCommit) {
+        if (connection == null) {
+            return;
+        }
+        try (Connection ignored = connection) {
+            connection.rollback();
+            connection.setAutoCommit(autoCommit);
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static final class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final ResultSet resultSet;
+        private final RowMapper<T> rowMapper;
+
+        private ResultSetSpliterator(ResultSet resultSet, RowMapper<T> rowMapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.resultSet = resultSet;
+            this.rowMapper = rowMapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                action.accept(rowMapper.map(resultSet));
+                return true;
+            } catch (SQLException e) {
+                throw new DaoException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.jdbc.project.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@FunctionalInterface
+interface RowMapper<T> {
+
+    T map(ResultSet resultSet) throws SQLException;
+}
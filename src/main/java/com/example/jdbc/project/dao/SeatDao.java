@@ -1,6 +1,7 @@
 package com.example.jdbc.project.dao;
 
 import com.example.jdbc.project.entity.Seat;
+import com.example.jdbc.project.entity.SeatMapping;
 import com.example.jdbc.project.exception.DaoException;
 import com.example.jdbc.project.util.ConnectionManager;
 
@@ -9,28 +10,28 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
-public class SeatDao implements Dao<Seat, Seat> {
+public class SeatDao {
     private static final SeatDao INSTANCE = new SeatDao();
-    private static final String CREATE_SQL = "INSERT INTO seat(aircraft_id, seat_no) VALUES (?, ?)";
-    private static final String FIND_ALL_SQL = "SELECT aircraft_id,seat_no FROM seat";
-    private static final String FIND_BY_ID_SQL = "SELECT aircraft_id,seat_no FROM seat WHERE aircraft_id = ? and seat_no = ?";
-    private static final String UPDATE_SQL = "UPDATE seat SET seat_no = ? WHERE aircraft_id = ? AND seat_no = ?";
-    private static final String DELETE_SQL = "DELETE FROM seat WHERE aircraft_id = ? AND seat_no = ?";
+    private static final String UPDATE_SEAT_NO_SQL = "UPDATE seat SET seat_no = ? WHERE aircraft_id = ? AND seat_no = ?";
+    private static final String FIND_SEAT_NOS_BY_AIRCRAFT_ID_SQL = "SELECT seat_no FROM seat WHERE aircraft_id = ? ORDER BY seat_no";
 
 
     private SeatDao() {
     }
 
     public Seat create(Seat seat) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(CREATE_SQL, Statement.RETURN_GENERATED_KEYS);
-            preparedStatement.setInt(1, seat.getAircraftId());
-            preparedStatement.setString(2, seat.getSeatNo());
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SeatMapping.INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            SeatMapping.bindInsert(preparedStatement, seat);
             preparedStatement.executeUpdate();
 
             return seat;
@@ -39,16 +40,28 @@ public class SeatDao implements Dao<Seat, Seat> {
         }
     }
 
-    @Override
+    public List<Seat> createAll(Collection<Seat> seats) {
+        return createAll(seats, BatchExecutor.defaultMode());
+    }
+
+    public List<Seat> createAll(Collection<Seat> seats, BatchMode mode) {
+        try {
+            BatchExecutor.execute(SeatMapping.INSERT_SQL, seats, SeatMapping::bindInsert, null, mode);
+            return new ArrayList<>(seats);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
     public Optional<Seat> findById(Seat key) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(FIND_BY_ID_SQL);
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SeatMapping.FIND_BY_ID_SQL)) {
             preparedStatement.setInt(1, key.getAircraftId());
             preparedStatement.setString(2, key.getSeatNo());
             ResultSet resultSet = preparedStatement.executeQuery();
             Seat seat = null;
             while (resultSet.next()) {
-                seat = getBuild(resultSet);
+                seat = SeatMapping.map(resultSet);
             }
             return Optional.ofNullable(seat);
         } catch (SQLException e) {
@@ -58,12 +71,12 @@ public class SeatDao implements Dao<Seat, Seat> {
 
 
     public List<Seat> findAll() {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(FIND_ALL_SQL);
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SeatMapping.SELECT_SQL)) {
             ResultSet resultSet = preparedStatement.executeQuery();
             List<Seat> seatList = new ArrayList<>();
             while (resultSet.next()) {
-                seatList.add(getBuild(resultSet));
+                seatList.add(SeatMapping.map(resultSet));
             }
             return seatList;
         } catch (SQLException e) {
@@ -72,39 +85,91 @@ public class SeatDao implements Dao<Seat, Seat> {
 
     }
 
-    @Override
-    public void update(Seat entity) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_SQL);
-            preparedStatement.setString(1, entity.getSeatNo());
-            preparedStatement.setInt(2, entity.getAircraftId());
-            preparedStatement.setString(3, "B1");
+    public Stream<Seat> streamAll() {
+        return ResultSetStream.of(SeatMapping.SELECT_SQL, SeatMapping::map);
+    }
+
+    public List<String> findSeatNosByAircraftId(Integer aircraftId) {
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(FIND_SEAT_NOS_BY_AIRCRAFT_ID_SQL)) {
+            preparedStatement.setInt(1, aircraftId);
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<String> seatNos = new ArrayList<>();
+            while (resultSet.next()) {
+                seatNos.add(resultSet.getString("seat_no"));
+            }
+            return seatNos;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    public boolean updateSeatNo(Seat seat, String newSeatNo) {
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_SEAT_NO_SQL)) {
+            setUpdateSeatNoParameters(preparedStatement, new AbstractMap.SimpleEntry<>(seat, newSeatNo));
+            if (preparedStatement.executeUpdate() == 0) {
+                return false;
+            }
+            seat.setSeatNo(newSeatNo);
+            return true;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    public int updateSeatNos(Map<Seat, String> newSeatNos) {
+        try {
+            return BatchExecutor.execute(UPDATE_SEAT_NO_SQL, newSeatNos.entrySet(), this::setUpdateSeatNoParameters);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    public Seat upsert(Seat entity) {
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SeatMapping.UPSERT_SQL)) {
+            SeatMapping.bindUpsert(preparedStatement, entity);
             preparedStatement.executeUpdate();
+            return entity;
         } catch (SQLException e) {
             throw new DaoException(e);
         }
+    }
 
+    public int upsertAll(Collection<Seat> entities) {
+        try {
+            return BatchExecutor.execute(SeatMapping.UPSERT_SQL, entities, SeatMapping::bindUpsert);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
     }
 
-    @Override
     public boolean delete(Seat key) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(DELETE_SQL);
-            preparedStatement.setInt(1, key.getAircraftId());
-            preparedStatement.setString(2, key.getSeatNo());
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SeatMapping.DELETE_SQL)) {
+            SeatMapping.bindId(preparedStatement, key);
             return preparedStatement.executeUpdate() > 0;
         } catch (SQLException e) {
             throw new DaoException(e);
         }
     }
 
-    public static SeatDao getINSTANCE() {
-        return INSTANCE;
+    public int deleteAllById(Collection<Seat> keys) {
+        try {
+            return BatchExecutor.execute(SeatMapping.DELETE_SQL, keys, SeatMapping::bindId);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private void setUpdateSeatNoParameters(PreparedStatement preparedStatement, Map.Entry<Seat, String> newSeatNo) throws SQLException {
+        preparedStatement.setString(1, newSeatNo.getValue());
+        preparedStatement.setInt(2, newSeatNo.getKey().getAircraftId());
+        preparedStatement.setString(3, newSeatNo.getKey().getSeatNo());
     }
 
-    private Seat getBuild(ResultSet resultSet) throws SQLException {
-        return Seat.builder().
-                aircraftId(resultSet.getInt("aircraft_id"))
-                .seatNo(resultSet.getString("seat_no")).build();
+    public static SeatDao getINSTANCE() {
+        return INSTANCE;
     }
 }
@@ -0,0 +1,92 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.SeatHold;
+import com.example.jdbc.project.entity.SeatHoldMapping;
+import com.example.jdbc.project.exception.DaoException;
+import com.example.jdbc.project.util.ConnectionManager;
+import com.example.jdbc.project.util.TransactionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public class SeatHoldDao {
+    private static final SeatHoldDao INSTANCE = new SeatHoldDao();
+    private static final String HOLD_SQL = "INSERT INTO seat_hold(token, flight_id, seat_no, expires_at) " +
+            "SELECT ?, ?, ?, LOCALTIMESTAMP + ? * INTERVAL '1 millisecond' " +
+            "WHERE NOT EXISTS (SELECT 1 FROM ticket WHERE flight_id = ? AND seat_no = ?) " +
+            "ON CONFLICT (flight_id, seat_no) DO UPDATE SET " +
+            "token = EXCLUDED.token," +
+            "expires_at = EXCLUDED.expires_at " +
+            "WHERE seat_hold.expires_at <= LOCALTIMESTAMP " +
+            "RETURNING token, flight_id, seat_no, expires_at";
+    private static final String FIND_BY_TOKEN_SQL = "SELECT token, flight_id, seat_no, expires_at FROM seat_hold " +
+            "WHERE token = ? AND expires_at > LOCALTIMESTAMP";
+    private static final String RELEASE_SQL = "DELETE FROM seat_hold WHERE token = ? " +
+            "RETURNING token, flight_id, seat_no, expires_at";
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM seat_hold WHERE expires_at <= LOCALTIMESTAMP " +
+            "RETURNING token, flight_id, seat_no, expires_at";
+
+    private SeatHoldDao() {
+    }
+
+    public Optional<SeatHold> hold(Long flightId, String seatNo, Duration duration) {
+        return TransactionManager.inTransaction(() -> {
+            try (Connection connection = ConnectionManager.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(HOLD_SQL)) {
+                SeatLocks.lock(connection, flightId, seatNo);
+                preparedStatement.setObject(1, UUID.randomUUID());
+                preparedStatement.setLong(2, flightId);
+                preparedStatement.setString(3, seatNo);
+                preparedStatement.setLong(4, duration.toMillis());
+                preparedStatement.setLong(5, flightId);
+                preparedStatement.setString(6, seatNo);
+                ResultSet resultSet = preparedStatement.executeQuery();
+                return resultSet.next() ? Optional.of(SeatHoldMapping.map(resultSet)) : Optional.empty();
+            }
+        });
+    }
+
+    public Optional<SeatHold> findByToken(UUID token) {
+        return findOne(FIND_BY_TOKEN_SQL, token);
+    }
+
+    public Optional<SeatHold> release(UUID token) {
+        return findOne(RELEASE_SQL, token);
+    }
+
+    public List<SeatHold> deleteExpired() {
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(DELETE_EXPIRED_SQL)) {
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<SeatHold> seatHolds = new ArrayList<>();
+            while (resultSet.next()) {
+                seatHolds.add(SeatHoldMapping.map(resultSet));
+            }
+            return seatHolds;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private Optional<SeatHold> findOne(String sql, UUID token) {
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setObject(1, token);
+            ResultSet resultSet = preparedStatement.executeQuery();
+            return resultSet.next() ? Optional.of(SeatHoldMapping.map(resultSet)) : Optional.empty();
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    public static SeatHoldDao getInstance() {
+        return INSTANCE;
+    }
+}
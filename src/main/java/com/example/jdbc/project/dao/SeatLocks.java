@@ -0,0 +1,35 @@
+package com.example.jdbc.project.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+final class SeatLocks {
+    private static final String KEY = "hashtextextended(?::text || '/' || ?, 0)";
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(" + KEY + ")";
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(" + KEY + ")";
+
+    private SeatLocks() {
+    }
+
+    static void lock(Connection connection, long flightId, String seatNo) throws SQLException {
+        try (PreparedStatement preparedStatement = prepare(connection, LOCK_SQL, flightId, seatNo)) {
+            preparedStatement.executeQuery();
+        }
+    }
+
+    static boolean tryLock(Connection connection, long flightId, String seatNo) throws SQLException {
+        try (PreparedStatement preparedStatement = prepare(connection, TRY_LOCK_SQL, flightId, seatNo)) {
+            ResultSet resultSet = preparedStatement.executeQuery();
+            return resultSet.next() && resultSet.getBoolean(1);
+        }
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, long flightId, String seatNo) throws SQLException {
+        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        preparedStatement.setLong(1, flightId);
+        preparedStatement.setString(2, seatNo);
+        return preparedStatement;
+    }
+}
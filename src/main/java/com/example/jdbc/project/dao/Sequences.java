@@ -0,0 +1,19 @@
+package com.example.jdbc.project.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+final class Sequences {
+    private static final String SYNC_SQL = "SELECT setval(pg_get_serial_sequence('%1$s', 'id'), " +
+            "GREATEST(MAX(id), nextval(pg_get_serial_sequence('%1$s', 'id')))) FROM %1$s";
+
+    private Sequences() {
+    }
+
+    static void sync(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(String.format(SYNC_SQL, table));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.jdbc.project.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+@FunctionalInterface
+interface StatementBinder<T> {
+
+    void bind(PreparedStatement preparedStatement, T value) throws SQLException;
+}
@@ -0,0 +1,69 @@
+package com.example.jdbc.project.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public final class StringDictionary {
+    private static final int NO_CODE = -1;
+    private byte[][] keys = new byte[64][];
+    private int[] slotCodes = new int[64];
+    private String[] values = new String[32];
+    private int size;
+
+    int encode(byte[] bytes) {
+        if (bytes == null) {
+            return NO_CODE;
+        }
+        int mask = keys.length - 1;
+        int slot = Arrays.hashCode(bytes) & mask;
+        while (keys[slot] != null) {
+            if (Arrays.equals(keys[slot], bytes)) {
+                return slotCodes[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        int code = size++;
+        keys[slot] = bytes.clone();
+        slotCodes[slot] = code;
+        if (code == values.length) {
+            values = Arrays.copyOf(values, code * 2);
+        }
+        values[code] = new String(bytes, StandardCharsets.UTF_8);
+        if (size * 2 > keys.length) {
+            rehash();
+        }
+        return code;
+    }
+
+    public String get(int code) {
+        return code == NO_CODE ? null : values[code];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    private void rehash() {
+        byte[][] oldKeys = keys;
+        int[] oldCodes = slotCodes;
+        keys = new byte[oldKeys.length * 2][];
+        slotCodes = new int[keys.length];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = Arrays.hashCode(oldKeys[i]) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                slotCodes[slot] = oldCodes[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.Ticket;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+public final class TicketColumns extends ColumnChunk {
+    static final String SELECT_SQL = "SELECT id, passenger_no, passenger_name, flight_id, seat_no, (cost * 100)::bigint FROM ticket";
+    private final long[] ids;
+    private final int[] passengerNos;
+    private final int[] passengerNames;
+    private final long[] flightIds;
+    private final int[] seatNos;
+    private final long[] costCents;
+    // passenger columns are close to unique, so their codes are only valid within the current chunk
+    private final StringDictionary passengerNoDictionary = new StringDictionary();
+    private final StringDictionary passengerNameDictionary = new StringDictionary();
+    private final StringDictionary seatNoDictionary = new StringDictionary();
+    private final Row row = new Row();
+
+    TicketColumns(int capacity) {
+        super(capacity);
+        this.ids = new long[capacity];
+        this.passengerNos = new int[capacity];
+        this.passengerNames = new int[capacity];
+        this.flightIds = new long[capacity];
+        this.seatNos = new int[capacity];
+        this.costCents = new long[capacity];
+    }
+
+    @Override
+    void clear() {
+        super.clear();
+        passengerNoDictionary.clear();
+        passengerNameDictionary.clear();
+    }
+
+    @Override
+    void read(ResultSet resultSet, int index) throws SQLException {
+        ids[index] = resultSet.getLong(1);
+        passengerNos[index] = passengerNoDictionary.encode(resultSet.getBytes(2));
+        passengerNames[index] = passengerNameDictionary.encode(resultSet.getBytes(3));
+        flightIds[index] = resultSet.getLong(4);
+        seatNos[index] = seatNoDictionary.encode(resultSet.getBytes(5));
+        costCents[index] = resultSet.getLong(6);
+    }
+
+    public long[] getIds() {
+        return ids;
+    }
+
+    public long[] getFlightIds() {
+        return flightIds;
+    }
+
+    public long[] getCostCents() {
+        return costCents;
+    }
+
+    public int[] getPassengerNoCodes() {
+        return passengerNos;
+    }
+
+    public int[] getPassengerNameCodes() {
+        return passengerNames;
+    }
+
+    public int[] getSeatNoCodes() {
+        return seatNos;
+    }
+
+    public StringDictionary getPassengerNoDictionary() {
+        return passengerNoDictionary;
+    }
+
+    public StringDictionary getPassengerNameDictionary() {
+        return passengerNameDictionary;
+    }
+
+    public StringDictionary getSeatNoDictionary() {
+        return seatNoDictionary;
+    }
+
+    public Row row(int index) {
+        row.index = index;
+        return row;
+    }
+
+    public void forEachRow(Consumer<? super Row> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(row(i));
+        }
+    }
+
+    public final class Row {
+        private int index;
+
+        private Row() {
+        }
+
+        public long getId() {
+            return ids[index];
+        }
+
+        public String getPassengerNo() {
+            return passengerNoDictionary.get(passengerNos[index]);
+        }
+
+        public String getPassengerName() {
+            return passengerNameDictionary.get(passengerNames[index]);
+        }
+
+        public long getFlightId() {
+            return flightIds[index];
+        }
+
+        public String getSeatNo() {
+            return seatNoDictionary.get(seatNos[index]);
+        }
+
+        public long getCostCents() {
+            return costCents[index];
+        }
+
+        public BigDecimal getCost() {
+            return BigDecimal.valueOf(costCents[index], 2);
+        }
+
+        public Ticket toTicket() {
+            return Ticket.builder()
+                    .id(getId())
+                    .passengerNo(getPassengerNo())
+                    .passengerName(getPassengerName())
+                    .flightId(getFlightId())
+                    .seatNo(getSeatNo())
+                    .cost(getCost())
+                    .build();
+        }
+    }
+}
@@ -1,61 +1,58 @@
 package com.example.jdbc.project.dao;
 
+import com.example.jdbc.project.dto.Page;
 import com.example.jdbc.project.dto.TicketFilter;
 import com.example.jdbc.project.entity.Ticket;
+import com.example.jdbc.project.entity.TicketMapping;
 import com.example.jdbc.project.exception.DaoException;
 import com.example.jdbc.project.util.ConnectionManager;
+import com.example.jdbc.project.util.TransactionManager;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-public class TicketDao implements Dao<Long, Ticket> {
+public class TicketDao implements PatchableDao<Long, Ticket, TicketMapping.Field> {
     private static final TicketDao INSTANCE = new TicketDao();
-    private static final String DELETE_SQL = "DELETE FROM ticket WHERE id = ?";
-    private static final String CREATE_SQL = "INSERT INTO ticket(" +
+    private static final int ANY_SEAT_ATTEMPTS = 3;
+    private static final String CREATE_IF_SEAT_FREE_SQL = "INSERT INTO ticket(" +
             "passenger_no," +
             " passenger_name," +
             " flight_id," +
             " seat_no," +
-            " cost)" +
-            " VALUES(?,?,?,?,?)";
-    private static final String UPDATE_SQL = "UPDATE ticket SET " +
-            "passenger_no = ?, " +
-            "passenger_name = ?," +
-            "flight_id = ?," +
-            "seat_no = ?," +
-            "cost = ? WHERE id = ?";
-    private static final String FIND_BY_ID_SQL = "SELECT " +
-            "id," +
-            "passenger_no," +
-            "passenger_name," +
-            "flight_id," +
-            "seat_no," +
-            "cost FROM ticket WHERE id = ?";
-    private static final String FIND_ALL_SQL = "SELECT " +
-            "id," +
-            "passenger_no," +
-            "passenger_name," +
-            "flight_id," +
-            "seat_no," +
-            "cost FROM ticket";
+            " cost) " +
+            "SELECT ?, ?, ?, ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM seat_hold WHERE flight_id = ? AND seat_no = ? AND expires_at > LOCALTIMESTAMP) " +
+            "ON CONFLICT (flight_id, seat_no) DO NOTHING " +
+            "RETURNING id";
+    private static final String FIND_FREE_SEAT_NOS_SQL = "SELECT s.seat_no FROM flight f " +
+            "JOIN seat s ON s.aircraft_id = f.aircraft_id " +
+            "WHERE f.id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM ticket t WHERE t.flight_id = f.id AND t.seat_no = s.seat_no) " +
+            "AND NOT EXISTS (SELECT 1 FROM seat_hold h WHERE h.flight_id = f.id AND h.seat_no = s.seat_no AND h.expires_at > LOCALTIMESTAMP) " +
+            "ORDER BY s.seat_no";
+    private static final String FIND_HOLD_SQL = "SELECT flight_id, seat_no FROM seat_hold WHERE token = ?";
+    private static final String DELETE_HOLD_SQL = "DELETE FROM seat_hold WHERE token = ? AND expires_at > LOCALTIMESTAMP";
+    private static final String FIND_SEAT_NOS_BY_FLIGHT_ID_SQL = "SELECT seat_no FROM ticket WHERE flight_id = ?";
 
     private TicketDao() {
     }
 
     public Ticket create(Ticket ticket) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(CREATE_SQL, Statement.RETURN_GENERATED_KEYS);
-            preparedStatement.setString(1, ticket.getPassengerNo());
-            preparedStatement.setString(2, ticket.getPassengerName());
-            preparedStatement.setLong(3, ticket.getFlightId());
-            preparedStatement.setString(4, ticket.getSeatNo());
-            preparedStatement.setBigDecimal(5, ticket.getCost());
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(TicketMapping.INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            TicketMapping.bindInsert(preparedStatement, ticket);
             preparedStatement.executeUpdate();
             ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
             if (generatedKeys.next()) {
@@ -67,14 +64,147 @@ public class TicketDao implements Dao<Long, Ticket> {
         }
     }
 
-    public Optional<Ticket> findById(Long id) {
+    public Optional<Ticket> createIfSeatFree(Ticket ticket) {
+        return inSeatTransaction(connection -> {
+            SeatLocks.lock(connection, ticket.getFlightId(), ticket.getSeatNo());
+            return insertIfSeatFree(connection, ticket);
+        });
+    }
+
+    public Optional<Ticket> createOnAnyFreeSeat(Ticket ticket) {
+        return inSeatTransaction(connection -> {
+            for (int attempt = 0; attempt < ANY_SEAT_ATTEMPTS; attempt++) {
+                List<String> seatNos = findFreeSeatNos(connection, ticket.getFlightId());
+                if (seatNos.isEmpty()) {
+                    return Optional.empty();
+                }
+                for (String seatNo : seatNos) {
+                    if (SeatLocks.tryLock(connection, ticket.getFlightId(), seatNo)) {
+                        ticket.setSeatNo(seatNo);
+                        Optional<Ticket> created = insertIfSeatFree(connection, ticket);
+                        if (created.isPresent()) {
+                            return created;
+                        }
+                    }
+                }
+            }
+            ticket.setSeatNo(null);
+            throw new DaoException("No seat could be booked on flight " + ticket.getFlightId()
+                    + " after " + ANY_SEAT_ATTEMPTS + " attempts");
+        });
+    }
+
+    public Optional<Ticket> createFromHold(UUID holdToken, Ticket ticket) {
+        return inSeatTransaction(connection -> {
+            try (PreparedStatement findStatement = connection.prepareStatement(FIND_HOLD_SQL);
+                 PreparedStatement deleteStatement = connection.prepareStatement(DELETE_HOLD_SQL)) {
+                findStatement.setObject(1, holdToken);
+                ResultSet resultSet = findStatement.executeQuery();
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+                ticket.setFlightId(resultSet.getLong("flight_id"));
+                ticket.setSeatNo(resultSet.getString("seat_no"));
+                SeatLocks.lock(connection, ticket.getFlightId(), ticket.getSeatNo());
+                deleteStatement.setObject(1, holdToken);
+                if (deleteStatement.executeUpdate() == 0) {
+                    return Optional.empty();
+                }
+            }
+            return insertIfSeatFree(connection, ticket);
+        });
+    }
+
+    private Optional<Ticket> insertIfSeatFree(Connection connection, Ticket ticket) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(CREATE_IF_SEAT_FREE_SQL)) {
+            int index = TicketMapping.bindInsert(preparedStatement, ticket);
+            preparedStatement.setLong(index++, ticket.getFlightId());
+            preparedStatement.setString(index, ticket.getSeatNo());
+            ResultSet resultSet = preparedStatement.executeQuery();
+            if (!resultSet.next()) {
+                return Optional.empty();
+            }
+            ticket.setId(resultSet.getLong("id"));
+            return Optional.of(ticket);
+        }
+    }
+
+    private List<String> findFreeSeatNos(Connection connection, Long flightId) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(FIND_FREE_SEAT_NOS_SQL)) {
+            preparedStatement.setLong(1, flightId);
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<String> seatNos = new ArrayList<>();
+            while (resultSet.next()) {
+                seatNos.add(resultSet.getString("seat_no"));
+            }
+            return seatNos;
+        }
+    }
+
+    private Optional<Ticket> inSeatTransaction(SeatOperation operation) {
         try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(FIND_BY_ID_SQL);
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            Savepoint savepoint = autoCommit ? null : connection.setSavepoint();
+            try {
+                Optional<Ticket> created = operation.apply(connection);
+                if (created.isPresent()) {
+                    complete(connection, savepoint);
+                } else {
+                    rollback(connection, savepoint);
+                }
+                return created;
+            } catch (SQLException | RuntimeException e) {
+                rollback(connection, savepoint);
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private static void complete(Connection connection, Savepoint savepoint) throws SQLException {
+        if (savepoint == null) {
+            connection.commit();
+        } else {
+            connection.releaseSavepoint(savepoint);
+        }
+    }
+
+    private static void rollback(Connection connection, Savepoint savepoint) throws SQLException {
+        if (savepoint == null) {
+            connection.rollback();
+        } else {
+            connection.rollback(savepoint);
+        }
+    }
+
+    @Override
+    public List<Ticket> createAll(Collection<Ticket> tickets) {
+        return createAll(tickets, BatchExecutor.defaultMode());
+    }
+
+    @Override
+    public List<Ticket> createAll(Collection<Ticket> tickets, BatchMode mode) {
+        try {
+            BatchExecutor.execute(TicketMapping.INSERT_SQL, tickets, TicketMapping::bindInsert,
+                    (ticket, generatedKeys) -> ticket.setId(generatedKeys.getLong("id")), mode);
+            return new ArrayList<>(tickets);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    public Optional<Ticket> findById(Long id) {
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(TicketMapping.FIND_BY_ID_SQL)) {
             preparedStatement.setLong(1, id);
             ResultSet resultSet = preparedStatement.executeQuery();
             Ticket ticket = null;
             if (resultSet.next()) {
-                ticket = getTicket(resultSet);
+                ticket = TicketMapping.map(resultSet);
 
             }
             return Optional.ofNullable(ticket);
@@ -83,20 +213,56 @@ public class TicketDao implements Dao<Long, Ticket> {
         }
     }
 
+    public Stream<Ticket> streamAll(TicketFilter ticketFilter) {
+        List<Object> parameters = new ArrayList<>();
+        String sql = buildFilterSql(ticketFilter, ticketFilter.getLimit(), parameters);
+        return ResultSetStream.of(sql, parameters, TicketMapping::map);
+    }
+
+    public Page<Ticket> findPage(TicketFilter ticketFilter) {
+        if (ticketFilter.getLimit() <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + ticketFilter.getLimit());
+        }
+        List<Object> parameters = new ArrayList<>();
+        String sql = buildFilterSql(ticketFilter, ticketFilter.getLimit() + 1, parameters);
+        List<Ticket> ticketList = findAll(sql, parameters);
+        Long nextCursor = null;
+        if (ticketList.size() > ticketFilter.getLimit()) {
+            ticketList = ticketList.subList(0, ticketFilter.getLimit());
+            nextCursor = ticketList.get(ticketList.size() - 1).getId();
+        }
+        return new Page<>(ticketList, nextCursor);
+    }
+
     public List<Ticket> findAll(TicketFilter ticketFilter) {
         List<Object> parameters = new ArrayList<>();
-        parameters.add(ticketFilter.getLimit());
-        parameters.add(ticketFilter.getOffset());
-        String sql = FIND_ALL_SQL + " LIMIT ? OFFSET ?";
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        String sql = buildFilterSql(ticketFilter, ticketFilter.getLimit(), parameters);
+        return findAll(sql, parameters);
+    }
+
+    private String buildFilterSql(TicketFilter ticketFilter, int limit, List<Object> parameters) {
+        String where = new WhereBuilder(parameters)
+                .and("id > ?", ticketFilter.getAfterId())
+                .and("passenger_name = ?", ticketFilter.getPassengerName())
+                .and("seat_no = ?", ticketFilter.getSeatNo())
+                .and("flight_id = ?", ticketFilter.getFlightId())
+                .and("cost >= ?", ticketFilter.getMinCost())
+                .and("cost <= ?", ticketFilter.getMaxCost())
+                .build();
+        parameters.add(limit);
+        return TicketMapping.SELECT_SQL + where + " ORDER BY id LIMIT ?";
+    }
+
+    private List<Ticket> findAll(String sql, List<Object> parameters) {
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
             for (int i = 0; i < parameters.size(); i++) {
                 preparedStatement.setObject(i + 1, parameters.get(i));
             }
             ResultSet resultSet = preparedStatement.executeQuery();
             List<Ticket> ticketList = new ArrayList<>();
             while (resultSet.next()) {
-                ticketList.add(getTicket(resultSet));
+                ticketList.add(TicketMapping.map(resultSet));
             }
             return ticketList;
         } catch (SQLException e) {
@@ -105,12 +271,12 @@ public class TicketDao implements Dao<Long, Ticket> {
     }
 
     public List<Ticket> findAll() {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(FIND_ALL_SQL);
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(TicketMapping.SELECT_SQL)) {
             ResultSet resultSet = preparedStatement.executeQuery();
             List<Ticket> ticketList = new ArrayList<>();
             while (resultSet.next()) {
-                ticketList.add(getTicket(resultSet));
+                ticketList.add(TicketMapping.map(resultSet));
             }
             return ticketList;
         } catch (SQLException e) {
@@ -118,15 +284,46 @@ public class TicketDao implements Dao<Long, Ticket> {
         }
     }
 
+    @Override
+    public Stream<Ticket> streamAll() {
+        return ResultSetStream.of(TicketMapping.SELECT_SQL, TicketMapping::map);
+    }
+
+    public Stream<Ticket> parallelStreamAll() {
+        return ParallelScan.stream(TicketMapping.TABLE, TicketMapping.SELECT_SQL, TicketMapping::map);
+    }
+
+    public void forEachParallel(Consumer<? super Ticket> consumer) {
+        ParallelScan.forEach(TicketMapping.TABLE, TicketMapping.SELECT_SQL, TicketMapping::map, consumer);
+    }
+
+    public void forEachColumns(Consumer<? super TicketColumns> consumer) {
+        forEachColumns(ColumnChunk.DEFAULT_CAPACITY, consumer);
+    }
+
+    public void forEachColumns(int chunkSize, Consumer<? super TicketColumns> consumer) {
+        ResultSetStream.forEachChunk(TicketColumns.SELECT_SQL, new TicketColumns(chunkSize), consumer);
+    }
+
+    public List<String> findSeatNosByFlightId(Long flightId) {
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(FIND_SEAT_NOS_BY_FLIGHT_ID_SQL)) {
+            preparedStatement.setLong(1, flightId);
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<String> seatNos = new ArrayList<>();
+            while (resultSet.next()) {
+                seatNos.add(resultSet.getString("seat_no"));
+            }
+            return seatNos;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
     public void update(Ticket ticket) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_SQL);
-            preparedStatement.setString(1, ticket.getPassengerNo());
-            preparedStatement.setString(2, ticket.getPassengerName());
-            preparedStatement.setLong(3, ticket.getFlightId());
-            preparedStatement.setString(4, ticket.getSeatNo());
-            preparedStatement.setBigDecimal(5, ticket.getCost());
-            preparedStatement.setLong(6, ticket.getId());
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(TicketMapping.UPDATE_SQL)) {
+            TicketMapping.bindUpdate(preparedStatement, ticket);
             preparedStatement.executeUpdate();
 
         } catch (SQLException e) {
@@ -134,32 +331,103 @@ public class TicketDao implements Dao<Long, Ticket> {
         }
     }
 
-    public boolean delete(Long id) {
-        try (Connection connection = ConnectionManager.getConnection()) {
-            PreparedStatement preparedStatement = connection.prepareStatement(DELETE_SQL);
-            preparedStatement.setLong(1, id);
+    @Override
+    public int updateAll(Collection<Ticket> tickets) {
+        try {
+            return BatchExecutor.execute(TicketMapping.UPDATE_SQL, tickets, TicketMapping::bindUpdate);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    @Override
+    public Ticket upsert(Ticket ticket) {
+        if (ticket.getId() == null) {
+            return create(ticket);
+        }
+        return TransactionManager.inTransaction(() -> {
+            try (Connection connection = ConnectionManager.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(TicketMapping.UPSERT_SQL)) {
+                TicketMapping.bindUpsert(preparedStatement, ticket);
+                preparedStatement.executeUpdate();
+                Sequences.sync(connection, TicketMapping.TABLE);
+                return ticket;
+            }
+        });
+    }
+
+    @Override
+    public int upsertAll(Collection<Ticket> tickets) {
+        List<Ticket> created = new ArrayList<>();
+        List<Ticket> upserted = new ArrayList<>();
+        for (Ticket ticket : tickets) {
+            (ticket.getId() == null ? created : upserted).add(ticket);
+        }
+        return TransactionManager.inTransaction(() -> {
+            int updated = BatchExecutor.execute(TicketMapping.UPSERT_SQL, upserted, TicketMapping::bindUpsert);
+            if (!upserted.isEmpty()) {
+                try (Connection connection = ConnectionManager.getConnection()) {
+                    Sequences.sync(connection, TicketMapping.TABLE);
+                }
+            }
+            createAll(created);
+            return updated + created.size();
+        });
+    }
+
+    @Override
+    public boolean patch(Ticket ticket, Set<TicketMapping.Field> fields) {
+        if (fields.isEmpty()) {
+            return false;
+        }
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(TicketMapping.patchSql(fields))) {
+            TicketMapping.bindPatch(preparedStatement, ticket, fields);
             return preparedStatement.executeUpdate() > 0;
         } catch (SQLException e) {
             throw new DaoException(e);
         }
     }
 
-    private Ticket getTicket(ResultSet resultSet) throws SQLException {
+    @Override
+    public int patchAll(Collection<Ticket> tickets, Set<TicketMapping.Field> fields) {
+        if (fields.isEmpty()) {
+            return 0;
+        }
+        try {
+            return BatchExecutor.execute(TicketMapping.patchSql(fields), tickets,
+                    (preparedStatement, ticket) -> TicketMapping.bindPatch(preparedStatement, ticket, fields));
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
 
-        return Ticket.builder()
-                .id(resultSet.getLong("id"))
-                .passengerNo(resultSet.getString("passenger_no"))
-                .passengerName(resultSet.getString("passenger_name"))
-                .flightId(resultSet.getLong("flight_id"))
-                .seatNo(resultSet.getString("seat_no"))
-                .cost(resultSet.getBigDecimal("cost"))
-                .build();
+    public boolean delete(Long id) {
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(TicketMapping.DELETE_SQL)) {
+            preparedStatement.setLong(1, id);
+            return preparedStatement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
 
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        try {
+            return BatchExecutor.execute(TicketMapping.DELETE_SQL, ids, (preparedStatement, id) -> preparedStatement.setLong(1, id));
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
     }
 
     public static TicketDao getInstance() {
         return INSTANCE;
     }
 
+    @FunctionalInterface
+    private interface SeatOperation {
 
+        Optional<Ticket> apply(Connection connection) throws SQLException;
+    }
 }
@@ -0,0 +1,210 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.Ticket;
+import com.example.jdbc.project.entity.TicketMapping;
+import com.example.jdbc.project.exception.DaoException;
+import com.example.jdbc.project.util.ConnectionManager;
+import com.example.jdbc.project.util.PropertiesUtil;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public class TicketWriter implements AutoCloseable {
+    private static final String QUEUE_CAPACITY = "ticket.writer.queue.capacity";
+    private static final String MAX_BATCH_SIZE = "ticket.writer.max.batch.size";
+    private static final String MAX_LATENCY = "ticket.writer.max.latency.ms";
+    private final Queue<PendingTicket> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int queueCapacity;
+    private final int maxBatchSize;
+    private final long maxLatencyNanos;
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    public TicketWriter(int queueCapacity, int maxBatchSize, long maxLatencyMillis) {
+        this.queueCapacity = queueCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+        this.flusher = new Thread(this::run, "ticket-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public static TicketWriter getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    public CompletableFuture<Ticket> write(Ticket ticket) {
+        CompletableFuture<Ticket> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new DaoException("Ticket writer is closed"));
+            return future;
+        }
+        if (!flusher.isAlive()) {
+            future.completeExceptionally(new DaoException("Ticket writer flusher has stopped"));
+            return future;
+        }
+        int pending = size.incrementAndGet();
+        if (pending > queueCapacity) {
+            size.decrementAndGet();
+            future.completeExceptionally(new DaoException("Ticket write queue is full"));
+            return future;
+        }
+        PendingTicket pendingTicket = new PendingTicket(ticket, future, System.nanoTime());
+        queue.offer(pendingTicket);
+        if (closed && queue.remove(pendingTicket)) {
+            size.decrementAndGet();
+            future.completeExceptionally(new DaoException("Ticket writer is closed"));
+            return future;
+        }
+        if (pending == 1 || pending >= maxBatchSize) {
+            LockSupport.unpark(flusher);
+        }
+        return future;
+    }
+
+    public int getPendingCount() {
+        return size.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingTicket pending;
+        while ((pending = queue.poll()) != null) {
+            size.decrementAndGet();
+            pending.future.completeExceptionally(new DaoException("Ticket writer is closed"));
+        }
+    }
+
+    private void run() {
+        List<PendingTicket> group = new ArrayList<>(maxBatchSize);
+        while (true) {
+            PendingTicket oldest = queue.peek();
+            if (oldest == null) {
+                if (closed) {
+                    return;
+                }
+                LockSupport.parkNanos(this, maxLatencyNanos);
+                continue;
+            }
+            long remaining = oldest.enqueuedAt + maxLatencyNanos - System.nanoTime();
+            if (remaining > 0 && size.get() < maxBatchSize && !closed) {
+                LockSupport.parkNanos(this, remaining);
+                continue;
+            }
+            PendingTicket pending;
+            while (group.size() < maxBatchSize && (pending = queue.poll()) != null) {
+                size.decrementAndGet();
+                group.add(pending);
+            }
+            flush(group);
+            group.clear();
+        }
+    }
+
+    private void flush(List<PendingTicket> group) {
+        try (Connection connection = ConnectionManager.getConnection()) {
+            connection.setAutoCommit(false);
+            List<PendingTicket> written;
+            try {
+                written = insertBatch(connection, group);
+            } catch (BatchUpdateException e) {
+                connection.rollback();
+                written = insertEach(connection, group);
+            }
+            connection.commit();
+            for (PendingTicket pending : written) {
+                pending.ticket.setId(pending.id);
+                pending.future.complete(pending.ticket);
+            }
+        } catch (Throwable e) {
+            for (PendingTicket pending : group) {
+                if (!pending.future.isDone()) {
+                    pending.future.completeExceptionally(new DaoException(e));
+                }
+            }
+        }
+    }
+
+    private List<PendingTicket> insertBatch(Connection connection, List<PendingTicket> group) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(TicketMapping.INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (PendingTicket pending : group) {
+                TicketMapping.bindInsert(preparedStatement, pending.ticket);
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+            try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                for (PendingTicket pending : group) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Missing generated key for ticket " + pending.ticket);
+                    }
+                    pending.id = generatedKeys.getLong("id");
+                }
+            }
+            return group;
+        }
+    }
+
+    private List<PendingTicket> insertEach(Connection connection, List<PendingTicket> group) throws SQLException {
+        List<PendingTicket> written = new ArrayList<>(group.size());
+        try (PreparedStatement preparedStatement = connection.prepareStatement(TicketMapping.INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (PendingTicket pending : group) {
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    TicketMapping.bindInsert(preparedStatement, pending.ticket);
+                    preparedStatement.executeUpdate();
+                    try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                        generatedKeys.next();
+                        pending.id = generatedKeys.getLong("id");
+                    }
+                    connection.releaseSavepoint(savepoint);
+                    written.add(pending);
+                } catch (SQLException e) {
+                    connection.rollback(savepoint);
+                    pending.future.completeExceptionally(new DaoException(e));
+                }
+            }
+        }
+        return written;
+    }
+
+    private static final class PendingTicket {
+        private final Ticket ticket;
+        private final CompletableFuture<Ticket> future;
+        private final long enqueuedAt;
+        private long id;
+
+        private PendingTicket(Ticket ticket, CompletableFuture<Ticket> future, long enqueuedAt) {
+            this.ticket = ticket;
+            this.future = future;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private static class InstanceHolder {
+        private static final TicketWriter INSTANCE = new TicketWriter(
+                PropertiesUtil.getInt(QUEUE_CAPACITY, 10_000),
+                PropertiesUtil.getInt(MAX_BATCH_SIZE, 256),
+                PropertiesUtil.getLong(MAX_LATENCY, 10L));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.jdbc.project.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class WhereBuilder {
+    private final List<String> predicates = new ArrayList<>();
+    private final List<Object> parameters;
+
+    WhereBuilder(List<Object> parameters) {
+        this.parameters = parameters;
+    }
+
+    WhereBuilder and(String predicate, Object value) {
+        if (value != null) {
+            predicates.add(predicate);
+            parameters.add(value);
+        }
+        return this;
+    }
+
+    String build() {
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.jdbc.project.dto;
+
+import lombok.Value;
+
+@Value
+public class CacheStats {
+    long hits;
+    long misses;
+    long evictions;
+    int size;
+
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
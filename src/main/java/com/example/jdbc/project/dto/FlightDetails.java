@@ -0,0 +1,25 @@
+package com.example.jdbc.project.dto;
+
+import com.example.jdbc.project.entity.Aircraft;
+import com.example.jdbc.project.entity.Airport;
+import com.example.jdbc.project.entity.Flight;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Set;
+
+@Value
+@Builder
+public class FlightDetails {
+    Flight flight;
+    Airport departureAirport;
+    Airport arrivalAirport;
+    Aircraft aircraft;
+    List<String> seats;
+    Set<String> occupiedSeats;
+
+    public int getFreeSeatCount() {
+        return (int) seats.stream().filter(seat -> !occupiedSeats.contains(seat)).count();
+    }
+}
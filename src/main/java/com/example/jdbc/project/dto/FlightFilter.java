@@ -0,0 +1,18 @@
+package com.example.jdbc.project.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class FlightFilter {
+    int limit;
+    Long afterId;
+    String departureAirportCode;
+    String arrivalAirportCode;
+    LocalDateTime departureFrom;
+    LocalDateTime departureTo;
+    String status;
+}
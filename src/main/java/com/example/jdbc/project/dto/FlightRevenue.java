@@ -0,0 +1,23 @@
+package com.example.jdbc.project.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+@Builder
+public class FlightRevenue {
+    long flightId;
+    String flightNo;
+    String departureAirportCode;
+    String arrivalAirportCode;
+    long ticketsSold;
+    BigDecimal revenue;
+    BigDecimal averageCost;
+    long seatCount;
+
+    public double getLoadFactor() {
+        return seatCount == 0 ? 0 : (double) ticketsSold / seatCount;
+    }
+}
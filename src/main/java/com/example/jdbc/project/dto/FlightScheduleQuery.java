@@ -0,0 +1,17 @@
+package com.example.jdbc.project.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class FlightScheduleQuery {
+    String departureAirportCode;
+    String arrivalAirportCode;
+    String status;
+    LocalDateTime departureFrom;
+    LocalDateTime departureTo;
+    int limit;
+}
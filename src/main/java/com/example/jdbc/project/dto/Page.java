@@ -0,0 +1,15 @@
+package com.example.jdbc.project.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class Page<T> {
+    List<T> items;
+    Long nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
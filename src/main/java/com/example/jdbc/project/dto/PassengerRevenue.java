@@ -0,0 +1,16 @@
+package com.example.jdbc.project.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+@Builder
+public class PassengerRevenue {
+    String passengerNo;
+    String passengerName;
+    long ticketsBought;
+    BigDecimal revenue;
+    BigDecimal averageCost;
+}
@@ -0,0 +1,22 @@
+package com.example.jdbc.project.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+@Builder
+public class RouteRevenue {
+    String departureAirportCode;
+    String arrivalAirportCode;
+    long flightCount;
+    long ticketsSold;
+    BigDecimal revenue;
+    BigDecimal averageCost;
+    long seatCount;
+
+    public double getLoadFactor() {
+        return seatCount == 0 ? 0 : (double) ticketsSold / seatCount;
+    }
+}
@@ -3,9 +3,16 @@ package com.example.jdbc.project.dto;
 import lombok.Builder;
 import lombok.Value;
 
+import java.math.BigDecimal;
+
 @Value
 @Builder
 public class TicketFilter {
     int limit;
-    int offset;
+    Long afterId;
+    String passengerName;
+    String seatNo;
+    Long flightId;
+    BigDecimal minCost;
+    BigDecimal maxCost;
 }
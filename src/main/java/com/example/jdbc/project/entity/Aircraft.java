@@ -1,12 +1,20 @@
 package com.example.jdbc.project.entity;
 
+import com.example.jdbc.project.mapping.Id;
+import com.example.jdbc.project.mapping.Table;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
+@Table("aircraft")
 public class Aircraft {
 
+    @Id(generated = true)
     private Integer id;
     private String model;
+
+    public Aircraft copy() {
+        return toBuilder().build();
+    }
 }
@@ -1,13 +1,21 @@
 package com.example.jdbc.project.entity;
 
+import com.example.jdbc.project.mapping.Id;
+import com.example.jdbc.project.mapping.Table;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
+@Table("airport")
 public class Airport {
 
+    @Id
     private String code;
     private String country;
     private String city;
+
+    public Airport copy() {
+        return toBuilder().build();
+    }
 }
@@ -1,5 +1,7 @@
 package com.example.jdbc.project.entity;
 
+import com.example.jdbc.project.mapping.Id;
+import com.example.jdbc.project.mapping.Table;
 import lombok.Builder;
 import lombok.Data;
 
@@ -7,8 +9,10 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@Table("flight")
 public class Flight {
 
+    @Id(generated = true)
     private Long id;
     private String flightNo;
     private LocalDateTime departureDate;
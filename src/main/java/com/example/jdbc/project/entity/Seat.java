@@ -1,12 +1,17 @@
 package com.example.jdbc.project.entity;
 
+import com.example.jdbc.project.mapping.Id;
+import com.example.jdbc.project.mapping.Table;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
 @Builder
+@Table("seat")
 public class Seat {
 
+    @Id
     private Integer aircraftId;
+    @Id
     private String seatNo;
 }
@@ -0,0 +1,21 @@
+package com.example.jdbc.project.entity;
+
+import com.example.jdbc.project.mapping.Id;
+import com.example.jdbc.project.mapping.Table;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@Table("seat_hold")
+public class SeatHold {
+
+    @Id
+    private UUID token;
+    private Long flightId;
+    private String seatNo;
+    private LocalDateTime expiresAt;
+}
@@ -1,5 +1,7 @@
 package com.example.jdbc.project.entity;
 
+import com.example.jdbc.project.mapping.Id;
+import com.example.jdbc.project.mapping.Table;
 import lombok.Builder;
 import lombok.Data;
 
@@ -7,8 +9,10 @@ import java.math.BigDecimal;
 
 @Data
 @Builder
+@Table("ticket")
 public class Ticket {
 
+    @Id(generated = true)
     private Long id;
     private String passengerNo;
     private String passengerName;
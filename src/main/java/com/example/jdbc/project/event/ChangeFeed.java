@@ -0,0 +1,216 @@
+package com.example.jdbc.project.event;
+
+import com.example.jdbc.project.util.ConnectionManager;
+import com.example.jdbc.project.util.PropertiesUtil;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public final class ChangeFeed implements AutoCloseable {
+    public static final String FLIGHT_CHANNEL = "flight_changes";
+    public static final String TICKET_CHANNEL = "ticket_changes";
+    public static final String REFERENCE_CHANNEL = "reference_changes";
+    private static final String POLL_TIMEOUT = "change.feed.poll.ms";
+    private static final String RECONNECT_DELAY = "change.feed.reconnect.ms";
+    private static final String MAX_RECONNECT_DELAY = "change.feed.reconnect.max.ms";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final Logger LOGGER = Logger.getLogger(ChangeFeed.class.getName());
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final int pollTimeoutMillis;
+    private final long reconnectDelayMillis;
+    private final long maxReconnectDelayMillis;
+    private final Thread listenerThread;
+    private volatile Connection connection;
+    private volatile boolean connected;
+    private volatile boolean closed;
+
+    public ChangeFeed(int pollTimeoutMillis, long reconnectDelayMillis, long maxReconnectDelayMillis) {
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.maxReconnectDelayMillis = maxReconnectDelayMillis;
+        this.listenerThread = new Thread(this::run, "change-feed");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    public static ChangeFeed getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    public void subscribe(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(connection);
+        listenerThread.interrupt();
+        try {
+            listenerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long delay = reconnectDelayMillis;
+        boolean resync = false;
+        while (!closed) {
+            try (Connection listening = ConnectionManager.openUnpooledConnection()) {
+                connection = listening;
+                if (closed) {
+                    return;
+                }
+                listen(listening);
+                connected = true;
+                delay = reconnectDelayMillis;
+                if (resync) {
+                    dispatch(ChangeListener::onResync);
+                }
+                receive(listening);
+            } catch (SQLException e) {
+                if (!closed) {
+                    LOGGER.log(Level.WARNING, "Change feed connection lost, reconnecting in " + delay + " ms", e);
+                }
+            } catch (RuntimeException e) {
+                if (!closed) {
+                    LOGGER.log(Level.SEVERE, "Change feed failed, reconnecting in " + delay + " ms", e);
+                }
+            } finally {
+                connected = false;
+                connection = null;
+            }
+            resync = true;
+            if (closed || !sleep(delay)) {
+                return;
+            }
+            delay = Math.min(delay * 2, maxReconnectDelayMillis);
+        }
+    }
+
+    private void listen(Connection listening) throws SQLException {
+        try (Statement statement = listening.createStatement()) {
+            statement.execute("LISTEN " + FLIGHT_CHANNEL);
+            statement.execute("LISTEN " + TICKET_CHANNEL);
+            statement.execute("LISTEN " + REFERENCE_CHANNEL);
+        }
+    }
+
+    private void receive(Connection listening) throws SQLException {
+        PGConnection pgConnection = listening.unwrap(PGConnection.class);
+        while (!closed) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+            if (notifications == null || notifications.length == 0) {
+                if (!closed && !listening.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Change feed connection is no longer valid");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                handle(notification);
+            }
+        }
+    }
+
+    private void handle(PGNotification notification) {
+        Consumer<ChangeListener> event;
+        try {
+            event = toEvent(notification.getName(), NotificationPayload.parse(notification.getParameter()));
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Ignoring notification on " + notification.getName()
+                    + ": " + notification.getParameter(), e);
+            return;
+        }
+        if (event != null) {
+            dispatch(event);
+        }
+    }
+
+    private static Consumer<ChangeListener> toEvent(String channel, NotificationPayload payload) {
+        switch (channel) {
+            case FLIGHT_CHANNEL:
+                FlightChangeEvent flightEvent = FlightChangeEvent.builder()
+                        .operation(payload.getOperation())
+                        .id(payload.getLong("id"))
+                        .status(payload.getString("status"))
+                        .aircraftId(payload.getInt("aircraft_id"))
+                        .previousStatus(payload.getString("old_status"))
+                        .previousAircraftId(payload.getInt("old_aircraft_id"))
+                        .build();
+                return listener -> listener.onFlightChange(flightEvent);
+            case TICKET_CHANNEL:
+                TicketChangeEvent ticketEvent = TicketChangeEvent.builder()
+                        .operation(payload.getOperation())
+                        .id(payload.getLong("id"))
+                        .flightId(payload.getLong("flight_id"))
+                        .seatNo(payload.getString("seat_no"))
+                        .previousFlightId(payload.getLong("old_flight_id"))
+                        .previousSeatNo(payload.getString("old_seat_no"))
+                        .build();
+                return listener -> listener.onTicketChange(ticketEvent);
+            case REFERENCE_CHANNEL:
+                ReferenceChangeEvent referenceEvent = ReferenceChangeEvent.builder()
+                        .operation(payload.getOperation())
+                        .table(payload.getString("table"))
+                        .key(payload.getString("key"))
+                        .previousKey(payload.getString("old_key"))
+                        .build();
+                return listener -> listener.onReferenceChange(referenceEvent);
+            default:
+                return null;
+        }
+    }
+
+    private void dispatch(Consumer<ChangeListener> event) {
+        for (ChangeListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Change listener " + listener + " failed", e);
+            }
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static class InstanceHolder {
+        private static final ChangeFeed INSTANCE = new ChangeFeed(
+                PropertiesUtil.getInt(POLL_TIMEOUT, 5_000),
+                PropertiesUtil.getLong(RECONNECT_DELAY, 1_000L),
+                PropertiesUtil.getLong(MAX_RECONNECT_DELAY, 30_000L));
+    }
+}
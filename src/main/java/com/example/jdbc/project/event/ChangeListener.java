@@ -0,0 +1,16 @@
+package com.example.jdbc.project.event;
+
+public interface ChangeListener {
+
+    default void onFlightChange(FlightChangeEvent event) {
+    }
+
+    default void onTicketChange(TicketChangeEvent event) {
+    }
+
+    default void onReferenceChange(ReferenceChangeEvent event) {
+    }
+
+    default void onResync() {
+    }
+}
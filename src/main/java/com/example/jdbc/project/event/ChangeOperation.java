@@ -0,0 +1,8 @@
+package com.example.jdbc.project.event;
+
+public enum ChangeOperation {
+    INSERT,
+    UPDATE,
+    DELETE,
+    REFRESH
+}
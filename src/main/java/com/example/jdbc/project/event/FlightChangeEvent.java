@@ -0,0 +1,25 @@
+package com.example.jdbc.project.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Objects;
+
+@Value
+@Builder
+public class FlightChangeEvent {
+    ChangeOperation operation;
+    Long id;
+    String status;
+    Integer aircraftId;
+    String previousStatus;
+    Integer previousAircraftId;
+
+    public boolean isStatusChanged() {
+        return operation == ChangeOperation.UPDATE && !Objects.equals(status, previousStatus);
+    }
+
+    public boolean isAircraftChanged() {
+        return operation == ChangeOperation.UPDATE && !Objects.equals(aircraftId, previousAircraftId);
+    }
+}
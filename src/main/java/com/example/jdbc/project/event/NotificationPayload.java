@@ -0,0 +1,154 @@
+package com.example.jdbc.project.event;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class NotificationPayload {
+    private final Map<String, String> values;
+
+    private NotificationPayload(Map<String, String> values) {
+        this.values = values;
+    }
+
+    static NotificationPayload parse(String json) {
+        Parser parser = new Parser(json);
+        return new NotificationPayload(parser.parseObject());
+    }
+
+    String getString(String name) {
+        return values.get(name);
+    }
+
+    Long getLong(String name) {
+        String value = values.get(name);
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    Integer getInt(String name) {
+        String value = values.get(name);
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    ChangeOperation getOperation() {
+        return ChangeOperation.valueOf(values.get("op"));
+    }
+
+    private static final class Parser {
+        private final String json;
+        private int position;
+
+        private Parser(String json) {
+            this.json = json;
+        }
+
+        private Map<String, String> parseObject() {
+            Map<String, String> values = new HashMap<>();
+            expect('{');
+            if (peek() == '}') {
+                position++;
+                return values;
+            }
+            do {
+                String name = parseString();
+                expect(':');
+                values.put(name, parseValue());
+            } while (consume(','));
+            expect('}');
+            return values;
+        }
+
+        private String parseValue() {
+            char next = peek();
+            if (next == '"') {
+                return parseString();
+            }
+            int start = position;
+            while (position < json.length() && ",} \t\r\n".indexOf(json.charAt(position)) < 0) {
+                position++;
+            }
+            String literal = json.substring(start, position);
+            if (literal.isEmpty()) {
+                throw error("value expected");
+            }
+            return "null".equals(literal) ? null : literal;
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder builder = new StringBuilder();
+            while (position < json.length()) {
+                char c = json.charAt(position++);
+                if (c == '"') {
+                    return builder.toString();
+                }
+                if (c != '\\') {
+                    builder.append(c);
+                    continue;
+                }
+                if (position >= json.length()) {
+                    break;
+                }
+                char escaped = json.charAt(position++);
+                switch (escaped) {
+                    case 'b':
+                        builder.append('\b');
+                        break;
+                    case 'f':
+                        builder.append('\f');
+                        break;
+                    case 'n':
+                        builder.append('\n');
+                        break;
+                    case 'r':
+                        builder.append('\r');
+                        break;
+                    case 't':
+                        builder.append('\t');
+                        break;
+                    case 'u':
+                        if (position + 4 > json.length()) {
+                            throw error("truncated unicode escape");
+                        }
+                        builder.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                        position += 4;
+                        break;
+                    default:
+                        builder.append(escaped);
+                }
+            }
+            throw error("unterminated string");
+        }
+
+        private char peek() {
+            skipWhitespace();
+            if (position >= json.length()) {
+                throw error("unexpected end of payload");
+            }
+            return json.charAt(position);
+        }
+
+        private boolean consume(char expected) {
+            if (peek() == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            if (!consume(expected)) {
+                throw error("'" + expected + "' expected");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Malformed notification payload at " + position + ": " + message + " in " + json);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.jdbc.project.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ReferenceChangeEvent {
+    ChangeOperation operation;
+    String table;
+    String key;
+    String previousKey;
+}
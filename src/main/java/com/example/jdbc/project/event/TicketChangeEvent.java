@@ -0,0 +1,22 @@
+package com.example.jdbc.project.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Objects;
+
+@Value
+@Builder
+public class TicketChangeEvent {
+    ChangeOperation operation;
+    Long id;
+    Long flightId;
+    String seatNo;
+    Long previousFlightId;
+    String previousSeatNo;
+
+    public boolean isSeatChanged() {
+        return operation == ChangeOperation.UPDATE
+                && (!Objects.equals(flightId, previousFlightId) || !Objects.equals(seatNo, previousSeatNo));
+    }
+}
@@ -4,4 +4,12 @@ public class DaoException extends RuntimeException{
     public DaoException(Throwable cause) {
         super(cause);
     }
+
+    public DaoException(String message) {
+        super(message);
+    }
+
+    public DaoException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
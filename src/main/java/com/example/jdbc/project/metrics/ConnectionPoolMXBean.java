@@ -0,0 +1,22 @@
+package com.example.jdbc.project.metrics;
+
+public interface ConnectionPoolMXBean {
+
+    int getTotalConnections();
+
+    int getIdleConnections();
+
+    int getActiveConnections();
+
+    int getWaitingThreads();
+
+    long getAcquireCount();
+
+    long getAcquireTimeouts();
+
+    double getAcquireTimeMeanMicros();
+
+    long getAcquireTime99thPercentileMicros();
+
+    long getAcquireTimeMaxMicros();
+}
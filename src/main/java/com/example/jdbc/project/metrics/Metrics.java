@@ -0,0 +1,196 @@
+package com.example.jdbc.project.metrics;
+
+import com.example.jdbc.project.util.PropertiesUtil;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+public final class Metrics {
+    private static final String ENABLED = "metrics.enabled";
+    private static final String SLOW_QUERY_THRESHOLD = "metrics.slow.query.ms";
+    private static final String MAX_QUERIES = "metrics.max.queries";
+    private static final String OTHER_QUERIES = "(other)";
+    private static final String DOMAIN = "com.example.jdbc.project";
+    private static final Logger LOGGER = Logger.getLogger(Metrics.class.getName());
+    private static final boolean ENABLED_VALUE = Boolean.parseBoolean(PropertiesUtil.getProperty(ENABLED, "true"));
+    private static final int MAX_QUERIES_VALUE = PropertiesUtil.getInt(MAX_QUERIES, 1000);
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LISTS = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Map<String, QueryMetrics> QUERIES = new ConcurrentHashMap<>();
+    private static final Map<String, QueryMetrics> STATEMENTS = new ConcurrentHashMap<>();
+    private static final List<MetricsListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static volatile long slowQueryThresholdNanos =
+            TimeUnit.MILLISECONDS.toNanos(PropertiesUtil.getLong(SLOW_QUERY_THRESHOLD, 0));
+
+    static {
+        if (ENABLED_VALUE) {
+            register("type=QueryMetrics", new QueryMetricsBean());
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED_VALUE;
+    }
+
+    public static void addListener(MetricsListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(MetricsListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    public static Collection<QueryMetrics> getQueryMetrics() {
+        return new ArrayList<>(QUERIES.values());
+    }
+
+    public static PoolMetrics registerPool(String name, ConnectionPoolMXBean pool) {
+        if (ENABLED_VALUE) {
+            register("type=ConnectionPool,name=" + ObjectName.quote(name), pool);
+        }
+        return new PoolMetrics();
+    }
+
+    public static void unregisterPool(String name) {
+        if (ENABLED_VALUE) {
+            unregister("type=ConnectionPool,name=" + ObjectName.quote(name));
+        }
+    }
+
+    public static void recordAcquire(String pool, PoolMetrics metrics, long nanos) {
+        if (!ENABLED_VALUE) {
+            return;
+        }
+        metrics.recordAcquire(nanos);
+        notifyListeners(listener -> listener.onConnectionAcquired(pool, nanos));
+    }
+
+    public static void recordAcquireTimeout(String pool, PoolMetrics metrics) {
+        if (!ENABLED_VALUE) {
+            return;
+        }
+        metrics.recordTimeout();
+        notifyListeners(listener -> listener.onAcquireTimeout(pool));
+    }
+
+    public static void recordQuery(String sql, long nanos, boolean failed) {
+        if (!ENABLED_VALUE) {
+            return;
+        }
+        queryMetrics(sql).record(nanos, failed);
+        long threshold = slowQueryThresholdNanos;
+        if (threshold > 0 && nanos >= threshold) {
+            LOGGER.log(Level.WARNING, "Slow query ({0} ms): {1}",
+                    new Object[]{TimeUnit.NANOSECONDS.toMillis(nanos), sql});
+        }
+        notifyListeners(listener -> listener.onQuery(sql, nanos, failed));
+    }
+
+    public static void recordRows(String sql, long rows) {
+        if (ENABLED_VALUE) {
+            queryMetrics(sql).recordRows(rows);
+        }
+    }
+
+    static String normalize(String sql) {
+        String normalized = LITERALS.matcher(sql).replaceAll("?");
+        return PARAMETER_LISTS.matcher(normalized).replaceAll("?, ...");
+    }
+
+    private static void notifyListeners(Consumer<MetricsListener> event) {
+        for (MetricsListener listener : LISTENERS) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Metrics listener " + listener + " failed", e);
+            }
+        }
+    }
+
+    private static QueryMetrics queryMetrics(String sql) {
+        QueryMetrics metrics = STATEMENTS.get(sql);
+        if (metrics != null) {
+            return metrics;
+        }
+        String key = normalize(sql);
+        metrics = QUERIES.get(key);
+        if (metrics == null) {
+            metrics = QUERIES.size() < MAX_QUERIES_VALUE
+                    ? QUERIES.computeIfAbsent(key, QueryMetrics::new)
+                    : QUERIES.computeIfAbsent(OTHER_QUERIES, QueryMetrics::new);
+        }
+        if (STATEMENTS.size() < MAX_QUERIES_VALUE * 4) {
+            STATEMENTS.putIfAbsent(sql, metrics);
+        }
+        return metrics;
+    }
+
+    private static void register(String properties, Object bean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(bean, name);
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Unable to register MBean " + properties, e);
+        }
+    }
+
+    private static void unregister(String properties) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Unable to unregister MBean " + properties, e);
+        }
+    }
+
+    private static final class QueryMetricsBean implements QueryMetricsMXBean {
+
+        @Override
+        public List<QueryMetricsView> getQueries() {
+            List<QueryMetricsView> views = new ArrayList<>();
+            for (QueryMetrics metrics : QUERIES.values()) {
+                views.add(QueryMetricsView.of(metrics));
+            }
+            return views;
+        }
+
+        @Override
+        public long getSlowQueryThresholdMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(slowQueryThresholdNanos);
+        }
+
+        @Override
+        public void setSlowQueryThresholdMillis(long threshold) {
+            slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(threshold);
+        }
+
+        @Override
+        public void reset() {
+            QUERIES.clear();
+            STATEMENTS.clear();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.jdbc.project.metrics;
+
+public interface MetricsListener {
+
+    default void onConnectionAcquired(String pool, long nanos) {
+    }
+
+    default void onAcquireTimeout(String pool) {
+    }
+
+    default void onQuery(String sql, long nanos, boolean failed) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.jdbc.project.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class PoolMetrics {
+    private final Histogram acquireTime = new Histogram();
+    private final LongAdder timeouts = new LongAdder();
+
+    void recordAcquire(long nanos) {
+        acquireTime.record(nanos);
+    }
+
+    void recordTimeout() {
+        timeouts.increment();
+    }
+
+    public Histogram getAcquireTime() {
+        return acquireTime;
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+}
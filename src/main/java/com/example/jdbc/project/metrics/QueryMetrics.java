@@ -0,0 +1,41 @@
+package com.example.jdbc.project.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class QueryMetrics {
+    private final String sql;
+    private final Histogram executionTime = new Histogram();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    QueryMetrics(String sql) {
+        this.sql = sql;
+    }
+
+    void record(long nanos, boolean failed) {
+        executionTime.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    void recordRows(long count) {
+        rows.add(count);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public Histogram getExecutionTime() {
+        return executionTime;
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+}
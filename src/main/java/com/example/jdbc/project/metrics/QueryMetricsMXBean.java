@@ -0,0 +1,14 @@
+package com.example.jdbc.project.metrics;
+
+import java.util.List;
+
+public interface QueryMetricsMXBean {
+
+    List<QueryMetricsView> getQueries();
+
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long threshold);
+
+    void reset();
+}
@@ -0,0 +1,37 @@
+package com.example.jdbc.project.metrics;
+
+import lombok.Value;
+
+import java.beans.ConstructorProperties;
+
+@Value
+public class QueryMetricsView {
+    String sql;
+    long count;
+    long errors;
+    long rows;
+    double meanMicros;
+    long p50Micros;
+    long p99Micros;
+    long maxMicros;
+
+    @ConstructorProperties({"sql", "count", "errors", "rows", "meanMicros", "p50Micros", "p99Micros", "maxMicros"})
+    public QueryMetricsView(String sql, long count, long errors, long rows, double meanMicros,
+                            long p50Micros, long p99Micros, long maxMicros) {
+        this.sql = sql;
+        this.count = count;
+        this.errors = errors;
+        this.rows = rows;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    static QueryMetricsView of(QueryMetrics metrics) {
+        Histogram histogram = metrics.getExecutionTime();
+        return new QueryMetricsView(metrics.getSql(), histogram.getCount(), metrics.getErrors(), metrics.getRows(),
+                histogram.getMean() / 1_000, histogram.getPercentile(50) / 1_000,
+                histogram.getPercentile(99) / 1_000, histogram.getMax() / 1_000);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.jdbc.project.service;
+
+import com.example.jdbc.project.dao.SeatHoldDao;
+import com.example.jdbc.project.dao.TicketDao;
+import com.example.jdbc.project.entity.SeatHold;
+import com.example.jdbc.project.entity.Ticket;
+import com.example.jdbc.project.util.PropertiesUtil;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public final class BookingService {
+    private static final String MAX_ATTEMPTS = "booking.max.attempts";
+    private static final String CLEANUP_PERIOD = "booking.hold.cleanup.period.ms";
+    private static final BookingService INSTANCE = new BookingService();
+    private final TicketDao ticketDao = TicketDao.getInstance();
+    private final SeatHoldDao seatHoldDao = SeatHoldDao.getInstance();
+    private final SeatInventory seatInventory = SeatInventory.getInstance();
+    private final int maxAttempts = PropertiesUtil.getInt(MAX_ATTEMPTS, 8);
+
+    private BookingService() {
+        long period = PropertiesUtil.getLong(CLEANUP_PERIOD, 10_000L);
+        ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-hold-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::releaseExpiredQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public Optional<Ticket> book(Ticket ticket) {
+        if (!seatInventory.isAvailable(ticket.getFlightId(), ticket.getSeatNo())) {
+            return Optional.empty();
+        }
+        Optional<Ticket> booked = ticketDao.createIfSeatFree(ticket);
+        seatInventory.markOccupied(ticket.getFlightId(), ticket.getSeatNo());
+        return booked;
+    }
+
+    public Optional<Ticket> bookAnySeat(Ticket ticket) {
+        Long flightId = ticket.getFlightId();
+        int start = randomStart(flightId);
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            Optional<String> seatNo = seatInventory.findFirstAvailable(flightId, start);
+            if (!seatNo.isPresent()) {
+                return Optional.empty();
+            }
+            Ticket candidate = withSeat(ticket, seatNo.get());
+            Optional<Ticket> booked = ticketDao.createIfSeatFree(candidate);
+            seatInventory.markOccupied(flightId, seatNo.get());
+            if (booked.isPresent()) {
+                ticket.setId(candidate.getId());
+                ticket.setSeatNo(candidate.getSeatNo());
+                return Optional.of(ticket);
+            }
+        }
+        Optional<Ticket> booked = ticketDao.createOnAnyFreeSeat(ticket);
+        booked.ifPresent(value -> seatInventory.markOccupied(flightId, value.getSeatNo()));
+        return booked;
+    }
+
+    public Optional<SeatHold> hold(Long flightId, String seatNo, Duration duration) {
+        if (!seatInventory.isAvailable(flightId, seatNo)) {
+            return Optional.empty();
+        }
+        Optional<SeatHold> seatHold = seatHoldDao.hold(flightId, seatNo, duration);
+        seatInventory.markOccupied(flightId, seatNo);
+        return seatHold;
+    }
+
+    public Optional<SeatHold> holdAnySeat(Long flightId, Duration duration) {
+        int start = randomStart(flightId);
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            Optional<String> seatNo = seatInventory.findFirstAvailable(flightId, start);
+            if (!seatNo.isPresent()) {
+                return Optional.empty();
+            }
+            Optional<SeatHold> seatHold = seatHoldDao.hold(flightId, seatNo.get(), duration);
+            seatInventory.markOccupied(flightId, seatNo.get());
+            if (seatHold.isPresent()) {
+                return seatHold;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<Ticket> confirm(UUID holdToken, Ticket ticket) {
+        return ticketDao.createFromHold(holdToken, ticket);
+    }
+
+    public boolean release(UUID holdToken) {
+        Optional<SeatHold> seatHold = seatHoldDao.release(holdToken);
+        seatHold.ifPresent(value -> seatInventory.markFree(value.getFlightId(), value.getSeatNo()));
+        return seatHold.isPresent();
+    }
+
+    public int releaseExpired() {
+        int released = 0;
+        for (SeatHold seatHold : seatHoldDao.deleteExpired()) {
+            seatInventory.markFree(seatHold.getFlightId(), seatHold.getSeatNo());
+            released++;
+        }
+        return released;
+    }
+
+    private void releaseExpiredQuietly() {
+        try {
+            releaseExpired();
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    private int randomStart(Long flightId) {
+        int seatCount = seatInventory.getSeatCount(flightId);
+        return seatCount == 0 ? 0 : ThreadLocalRandom.current().nextInt(seatCount);
+    }
+
+    private Ticket withSeat(Ticket ticket, String seatNo) {
+        return Ticket.builder()
+                .passengerNo(ticket.getPassengerNo())
+                .passengerName(ticket.getPassengerName())
+                .flightId(ticket.getFlightId())
+                .seatNo(seatNo)
+                .cost(ticket.getCost())
+                .build();
+    }
+
+    public static BookingService getInstance() {
+        return INSTANCE;
+    }
+}
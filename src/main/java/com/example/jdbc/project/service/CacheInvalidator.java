@@ -0,0 +1,86 @@
+package com.example.jdbc.project.service;
+
+import com.example.jdbc.project.event.ChangeFeed;
+import com.example.jdbc.project.event.ChangeListener;
+import com.example.jdbc.project.event.ChangeOperation;
+import com.example.jdbc.project.event.FlightChangeEvent;
+import com.example.jdbc.project.event.ReferenceChangeEvent;
+import com.example.jdbc.project.event.TicketChangeEvent;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class CacheInvalidator implements ChangeListener {
+    private static final CacheInvalidator INSTANCE = new CacheInvalidator();
+    private static final AtomicBoolean REGISTERED = new AtomicBoolean();
+
+    private CacheInvalidator() {
+    }
+
+    public static CacheInvalidator getInstance() {
+        return INSTANCE;
+    }
+
+    public static void register() {
+        if (REGISTERED.compareAndSet(false, true)) {
+            ChangeFeed.getInstance().subscribe(INSTANCE);
+        }
+    }
+
+    @Override
+    public void onTicketChange(TicketChangeEvent event) {
+        switch (event.getOperation()) {
+            case INSERT:
+                seatInventory().markOccupied(event.getFlightId(), event.getSeatNo());
+                break;
+            case DELETE:
+                seatInventory().markFree(event.getFlightId(), event.getSeatNo());
+                break;
+            case UPDATE:
+                if (event.isSeatChanged()) {
+                    seatInventory().markFree(event.getPreviousFlightId(), event.getPreviousSeatNo());
+                    seatInventory().markOccupied(event.getFlightId(), event.getSeatNo());
+                }
+                break;
+            case REFRESH:
+                seatInventory().invalidate(event.getFlightId());
+                break;
+        }
+    }
+
+    @Override
+    public void onFlightChange(FlightChangeEvent event) {
+        if (event.getOperation() == ChangeOperation.REFRESH) {
+            seatInventory().invalidateAll();
+        } else if (event.getOperation() == ChangeOperation.DELETE || event.isAircraftChanged()) {
+            seatInventory().invalidate(event.getId());
+        }
+    }
+
+    @Override
+    public void onReferenceChange(ReferenceChangeEvent event) {
+        if (!"aircraft".equals(event.getTable()) && !"seat".equals(event.getTable())) {
+            return;
+        }
+        if (event.getOperation() == ChangeOperation.REFRESH) {
+            seatInventory().invalidateAll();
+            return;
+        }
+        invalidateSeatMap(event.getKey());
+        invalidateSeatMap(event.getPreviousKey());
+    }
+
+    @Override
+    public void onResync() {
+        seatInventory().invalidateAll();
+    }
+
+    private void invalidateSeatMap(String aircraftId) {
+        if (aircraftId != null) {
+            seatInventory().invalidateAircraft(Integer.valueOf(aircraftId));
+        }
+    }
+
+    private static SeatInventory seatInventory() {
+        return SeatInventory.getInstance();
+    }
+}
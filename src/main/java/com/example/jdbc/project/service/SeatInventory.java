@@ -0,0 +1,186 @@
+package com.example.jdbc.project.service;
+
+import com.example.jdbc.project.dao.FlightDao;
+import com.example.jdbc.project.dao.SeatDao;
+import com.example.jdbc.project.dao.TicketDao;
+import com.example.jdbc.project.entity.Flight;
+import com.example.jdbc.project.event.ChangeFeed;
+import com.example.jdbc.project.exception.DaoException;
+import com.example.jdbc.project.util.AtomicBitSet;
+import com.example.jdbc.project.util.PropertiesUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes made outside {@link BookingService} (TicketDao, CopyDao, TicketWriter, other processes) reach the
+ * inventory through the change feed, so cached flights lag the database by the notification delay. Flights are
+ * only cached while the feed is connected; with {@code seat.inventory.change.feed=false} nothing else keeps
+ * cached flights in sync and callers must invalidate them.
+ */
+public final class SeatInventory {
+    private static final String CHANGE_FEED = "seat.inventory.change.feed";
+    private static final SeatInventory INSTANCE = new SeatInventory();
+    private final Map<Integer, SeatMap> seatMaps = new ConcurrentHashMap<>();
+    private final Map<Long, FlightSeats> flights = new ConcurrentHashMap<>();
+    private final AtomicLong missedChanges = new AtomicLong();
+    private final boolean changeFeed = Boolean.parseBoolean(PropertiesUtil.getProperty(CHANGE_FEED, "true"));
+
+    private SeatInventory() {
+    }
+
+    public boolean isAvailable(Long flightId, String seatNo) {
+        FlightSeats flightSeats = getFlightSeats(flightId);
+        int index = flightSeats.seatMap.indexOf(seatNo);
+        return index >= 0 && !flightSeats.occupied.get(index);
+    }
+
+    public int countAvailable(Long flightId) {
+        FlightSeats flightSeats = getFlightSeats(flightId);
+        return flightSeats.occupied.size() - flightSeats.occupied.cardinality();
+    }
+
+    public List<String> findAvailableSeats(Long flightId) {
+        FlightSeats flightSeats = getFlightSeats(flightId);
+        List<String> seats = new ArrayList<>();
+        for (int i = flightSeats.occupied.nextClearBit(0); i >= 0; i = flightSeats.occupied.nextClearBit(i + 1)) {
+            seats.add(flightSeats.seatMap.seatNos[i]);
+        }
+        return seats;
+    }
+
+    public Optional<String> findFirstAvailable(Long flightId, int fromIndex) {
+        FlightSeats flightSeats = getFlightSeats(flightId);
+        int index = flightSeats.occupied.nextClearBit(Math.max(fromIndex, 0));
+        if (index < 0 && fromIndex > 0) {
+            index = flightSeats.occupied.nextClearBit(0);
+        }
+        return index < 0 ? Optional.empty() : Optional.of(flightSeats.seatMap.seatNos[index]);
+    }
+
+    public int getSeatCount(Long flightId) {
+        return getFlightSeats(flightId).occupied.size();
+    }
+
+    public boolean markOccupied(Long flightId, String seatNo) {
+        FlightSeats flightSeats = flights.get(flightId);
+        if (flightSeats == null) {
+            missedChanges.incrementAndGet();
+            return true;
+        }
+        int index = flightSeats.seatMap.indexOf(seatNo);
+        return index < 0 || flightSeats.occupied.set(index);
+    }
+
+    public boolean markFree(Long flightId, String seatNo) {
+        FlightSeats flightSeats = flights.get(flightId);
+        if (flightSeats == null) {
+            missedChanges.incrementAndGet();
+            return true;
+        }
+        int index = flightSeats.seatMap.indexOf(seatNo);
+        return index < 0 || flightSeats.occupied.clear(index);
+    }
+
+    public void invalidate(Long flightId) {
+        missedChanges.incrementAndGet();
+        flights.remove(flightId);
+    }
+
+    public void invalidateAircraft(Integer aircraftId) {
+        missedChanges.incrementAndGet();
+        seatMaps.remove(aircraftId);
+        flights.values().removeIf(flightSeats -> flightSeats.seatMap.aircraftId.equals(aircraftId));
+    }
+
+    public void invalidateAll() {
+        missedChanges.incrementAndGet();
+        flights.clear();
+        seatMaps.clear();
+    }
+
+    private FlightSeats getFlightSeats(Long flightId) {
+        if (changeFeed && !ChangeFeed.getInstance().isConnected()) {
+            flights.clear();
+            return load(flightId);
+        }
+        FlightSeats flightSeats = flights.get(flightId);
+        if (flightSeats != null) {
+            return flightSeats;
+        }
+        long version = missedChanges.get();
+        FlightSeats loaded = load(flightId);
+        if (missedChanges.get() != version) {
+            return loaded;
+        }
+        FlightSeats existing = flights.putIfAbsent(flightId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (missedChanges.get() != version) {
+            flights.remove(flightId, loaded);
+        }
+        return loaded;
+    }
+
+    private FlightSeats load(Long flightId) {
+        Flight flight = FlightDao.getInstance().findById(flightId)
+                .orElseThrow(() -> new DaoException("Flight " + flightId + " does not exist"));
+        SeatMap seatMap = seatMaps.get(flight.getAircraftId());
+        if (seatMap == null) {
+            seatMap = new SeatMap(flight.getAircraftId(),
+                    SeatDao.getINSTANCE().findSeatNosByAircraftId(flight.getAircraftId()));
+            seatMaps.putIfAbsent(flight.getAircraftId(), seatMap);
+        }
+        FlightSeats flightSeats = new FlightSeats(seatMap);
+        for (String seatNo : TicketDao.getInstance().findSeatNosByFlightId(flightId)) {
+            int index = seatMap.indexOf(seatNo);
+            if (index >= 0) {
+                flightSeats.occupied.set(index);
+            }
+        }
+        return flightSeats;
+    }
+
+    public static SeatInventory getInstance() {
+        if (INSTANCE.changeFeed) {
+            CacheInvalidator.register();
+        }
+        return INSTANCE;
+    }
+
+    private static final class SeatMap {
+        private final Integer aircraftId;
+        private final String[] seatNos;
+        private final Map<String, Integer> indexes;
+
+        private SeatMap(Integer aircraftId, List<String> seatNos) {
+            this.aircraftId = aircraftId;
+            this.seatNos = seatNos.toArray(new String[0]);
+            this.indexes = new HashMap<>(seatNos.size() * 2);
+            for (int i = 0; i < this.seatNos.length; i++) {
+                indexes.put(this.seatNos[i], i);
+            }
+        }
+
+        private int indexOf(String seatNo) {
+            Integer index = indexes.get(seatNo);
+            return index == null ? -1 : index;
+        }
+    }
+
+    private static final class FlightSeats {
+        private final SeatMap seatMap;
+        private final AtomicBitSet occupied;
+
+        private FlightSeats(SeatMap seatMap) {
+            this.seatMap = seatMap;
+            this.occupied = new AtomicBitSet(seatMap.seatNos.length);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.jdbc.project.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class AtomicBitSet {
+    private final AtomicLongArray words;
+    private final int size;
+
+    public AtomicBitSet(int size) {
+        this.size = size;
+        this.words = new AtomicLongArray((size + 63) >>> 6);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean get(int index) {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    public boolean set(int index) {
+        int wordIndex = index >>> 6;
+        long mask = 1L << index;
+        long word;
+        do {
+            word = words.get(wordIndex);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(wordIndex, word, word | mask));
+        return true;
+    }
+
+    public boolean clear(int index) {
+        int wordIndex = index >>> 6;
+        long mask = 1L << index;
+        long word;
+        do {
+            word = words.get(wordIndex);
+            if ((word & mask) == 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(wordIndex, word, word & ~mask));
+        return true;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    public int nextClearBit(int fromIndex) {
+        for (int wordIndex = fromIndex >>> 6; wordIndex < words.length(); wordIndex++) {
+            long free = ~words.get(wordIndex);
+            if (wordIndex == fromIndex >>> 6) {
+                free &= -1L << fromIndex;
+            }
+            if (free != 0) {
+                int index = (wordIndex << 6) + Long.numberOfTrailingZeros(free);
+                return index < size ? index : -1;
+            }
+        }
+        return -1;
+    }
+}
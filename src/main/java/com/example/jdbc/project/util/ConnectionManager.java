@@ -1,26 +1,34 @@
 package com.example.jdbc.project.util;
 
-import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 public final class ConnectionManager {
     private static final String URL = "url";
     private static final String LOGIN = "login";
     private static final String PASSWORD = "password";
-    private static final String POOL_SIZE = "pool.size";
-    private static final Integer DEFAULT_POOL_SIZE = 10;
-    private static BlockingQueue<Connection> pool;
-    private static List<Connection> connections;
+    private static final String REPLICA_URLS = "replica.urls";
+    private static final String REPLICA_LOGIN = "replica.login";
+    private static final String REPLICA_PASSWORD = "replica.password";
+    private static final String REPLICA_BALANCING = "replica.balancing";
+    private static final String REPLICA_RETRY = "replica.retry.ms";
+    private static final String READ_YOUR_WRITES = "replica.read.your.writes.ms";
+    private static final String POOL_NAME = "primary";
+    private static final String REPLICA_POOL_NAME = "replica-";
+    private static final ThreadLocal<long[]> LAST_WRITE = ThreadLocal.withInitial(() -> new long[1]);
+    private static ConnectionPool pool;
+    private static ReplicaRouter replicaRouter;
+    private static long readYourWritesNanos;
 
     static {
         loadDriver();
         initConnectionPool();
+        initReplicaPools();
     }
 
     private ConnectionManager() {
@@ -36,47 +44,96 @@ public final class ConnectionManager {
     }
 
     private static void initConnectionPool() {
-        String poolSize = PropertiesUtil.getProperty(POOL_SIZE);
-        int size = poolSize == null ? DEFAULT_POOL_SIZE : Integer.parseInt(poolSize);
-        pool = new ArrayBlockingQueue<>(size);
-        connections = new ArrayList<>(size);
-        for (int i = 0; i < size; i++) {
-            Connection connection = open();
-            Connection proxyConnection = (Connection) Proxy.newProxyInstance(ConnectionManager.class.getClassLoader(), new Class[]{Connection.class},
-                    (proxy, method, args) -> method.getName().equals("close")
-                            ? pool.add((Connection) proxy)
-                            : method.invoke(connection, args));
-            pool.add(proxyConnection);
-            connections.add(connection);
+        pool = new ConnectionPool(POOL_NAME,
+                PropertiesUtil.getProperty(URL),
+                PropertiesUtil.getProperty(LOGIN),
+                PropertiesUtil.getProperty(PASSWORD),
+                PoolConfig.fromProperties());
+    }
+
+    private static void initReplicaPools() {
+        List<ConnectionPool> replicas = new ArrayList<>();
+        PoolConfig config = PoolConfig.fromProperties().toBuilder().failFast(false).build();
+        for (String url : PropertiesUtil.getProperty(REPLICA_URLS, "").split(",")) {
+            if (!url.isBlank()) {
+                replicas.add(new ConnectionPool(REPLICA_POOL_NAME + (replicas.size() + 1),
+                        url.trim(),
+                        PropertiesUtil.getProperty(REPLICA_LOGIN, PropertiesUtil.getProperty(LOGIN)),
+                        PropertiesUtil.getProperty(REPLICA_PASSWORD, PropertiesUtil.getProperty(PASSWORD)),
+                        config));
+            }
+        }
+        if (!replicas.isEmpty()) {
+            replicaRouter = new ReplicaRouter(replicas,
+                    ReplicaBalancing.valueOf(PropertiesUtil.getProperty(REPLICA_BALANCING, ReplicaBalancing.ROUND_ROBIN.name())),
+                    PropertiesUtil.getLong(REPLICA_RETRY, 5_000L));
+            readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(PropertiesUtil.getLong(READ_YOUR_WRITES, 0L));
         }
     }
 
-    public static Connection getConnection() {
-        try {
-            return pool.take();
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+    public static Connection getConnection() throws SQLException {
+        Connection transactional = TransactionManager.currentConnection();
+        if (transactional != null) {
+            return transactional;
         }
+        return pool.getConnection();
+    }
+
+    /**
+     * Routes to the primary while the calling thread is within replica.read.your.writes.ms of its last committed
+     * write. The window is per thread: writes made by AsyncDao executors, parallel scans or TicketWriter do not
+     * open it for the caller.
+     */
+
+    public static Connection getReadConnection() throws SQLException {
+        Connection transactional = TransactionManager.currentConnection();
+        if (transactional != null) {
+            return transactional;
+        }
+        if (replicaRouter == null || isWithinReadYourWritesWindow()) {
+            return pool.getConnection();
+        }
+        return replicaRouter.getConnection(pool);
+    }
+
+    public static Connection openUnpooledConnection() throws SQLException {
+        return DriverManager.getConnection(PropertiesUtil.getProperty(URL),
+                PropertiesUtil.getProperty(LOGIN),
+                PropertiesUtil.getProperty(PASSWORD));
+    }
+
+    public static ConnectionPool getPool() {
+        return pool;
+    }
+
+    public static List<ConnectionPool> getReplicaPools() {
+        return replicaRouter == null ? Collections.emptyList() : replicaRouter.getReplicas();
     }
 
     public static void closePoll() {
-        for (Connection connection : connections) {
-            try {
-                connection.close();
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
-            }
+        pool.close();
+        if (replicaRouter != null) {
+            replicaRouter.close();
         }
     }
 
-    private static Connection open() {
-        try {
-            return DriverManager.getConnection(
-                    PropertiesUtil.getProperty(URL),
-                    PropertiesUtil.getProperty(LOGIN),
-                    PropertiesUtil.getProperty(PASSWORD));
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+    public static void recordWrite() {
+        if (readYourWritesNanos > 0) {
+            LAST_WRITE.get()[0] = System.nanoTime();
+        }
+    }
+
+    static void setReplicaRouter(ReplicaRouter router, long readYourWritesMillis) {
+        replicaRouter = router;
+        readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(readYourWritesMillis);
+        LAST_WRITE.remove();
+    }
+
+    private static boolean isWithinReadYourWritesWindow() {
+        if (readYourWritesNanos <= 0) {
+            return false;
         }
+        long lastWrite = LAST_WRITE.get()[0];
+        return lastWrite != 0 && System.nanoTime() - lastWrite < readYourWritesNanos;
     }
 }
@@ -0,0 +1,249 @@
+package com.example.jdbc.project.util;
+
+import com.example.jdbc.project.metrics.ConnectionPoolMXBean;
+import com.example.jdbc.project.metrics.Metrics;
+import com.example.jdbc.project.metrics.PoolMetrics;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public final class ConnectionPool implements ConnectionPoolMXBean, AutoCloseable {
+    private final String name;
+    private final String url;
+    private final String login;
+    private final String password;
+    private final PoolConfig config;
+    private final Semaphore permits;
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> connections = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private final PoolMetrics metrics;
+    private volatile boolean closed;
+
+    public ConnectionPool(String name, String url, String login, String password, PoolConfig config) {
+        this.name = name;
+        this.url = url;
+        this.login = login;
+        this.password = password;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+        this.metrics = Metrics.registerPool(name, this);
+        for (int i = 0; i < config.getMinSize(); i++) {
+            try {
+                idle.offerLast(open());
+            } catch (SQLException e) {
+                if (!config.isFailFast()) {
+                    break;
+                }
+                close();
+                throw new RuntimeException(e);
+            }
+        }
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = config.getHousekeepingPeriodMillis();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool " + name + " is closed");
+        }
+        long start = System.nanoTime();
+        acquirePermit();
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    Connection connection = pooled.borrow();
+                    Metrics.recordAcquire(name, metrics, System.nanoTime() - start);
+                    return connection;
+                }
+                discard(pooled);
+            }
+            Connection connection = open().borrow();
+            Metrics.recordAcquire(name, metrics, System.nanoTime() - start);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getTotalConnections() {
+        return connections.size();
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    @Override
+    public int getActiveConnections() {
+        return config.getMaxSize() - permits.availablePermits();
+    }
+
+    @Override
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public long getAcquireCount() {
+        return metrics.getAcquireTime().getCount();
+    }
+
+    @Override
+    public long getAcquireTimeouts() {
+        return metrics.getTimeouts();
+    }
+
+    @Override
+    public double getAcquireTimeMeanMicros() {
+        return metrics.getAcquireTime().getMean() / 1_000;
+    }
+
+    @Override
+    public long getAcquireTime99thPercentileMicros() {
+        return metrics.getAcquireTime().getPercentile(99) / 1_000;
+    }
+
+    @Override
+    public long getAcquireTimeMaxMicros() {
+        return metrics.getAcquireTime().getMax() / 1_000;
+    }
+
+    public PoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    public PoolConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Metrics.unregisterPool(name);
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+        for (PooledConnection connection : connections) {
+            discard(connection);
+        }
+    }
+
+    void release(PooledConnection pooled) {
+        try {
+            pooled.touch();
+            if (closed || isExpired(pooled, System.nanoTime()) || pooled.getConnection().isClosed()) {
+                discard(pooled);
+            } else {
+                idle.offerFirst(pooled);
+            }
+        } catch (SQLException e) {
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquirePermit() throws SQLException {
+        long timeout = config.getAcquireTimeoutMillis();
+        try {
+            if (!permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                Metrics.recordAcquireTimeout(name, metrics);
+                throw new SQLTimeoutException("Timed out after " + timeout + " ms waiting for a connection from pool " + name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection from pool " + name, e);
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, login, password);
+        PooledConnection pooled;
+        try {
+            pooled = new PooledConnection(this, connection, config.getStatementCacheSize());
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        connections.add(pooled);
+        return pooled;
+    }
+
+    private void discard(PooledConnection pooled) {
+        connections.remove(pooled);
+        pooled.closeQuietly();
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.nanoTime();
+        if (isExpired(pooled, now)) {
+            return false;
+        }
+        if (now - pooled.getLastAccessedAt() < TimeUnit.MILLISECONDS.toNanos(config.getValidationBypassMillis())) {
+            return true;
+        }
+        try {
+            return pooled.getConnection().isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now) {
+        long maxLifetime = config.getMaxLifetimeMillis();
+        return maxLifetime > 0 && now - pooled.getCreatedAt() >= TimeUnit.MILLISECONDS.toNanos(maxLifetime);
+    }
+
+    private boolean isIdleTooLong(PooledConnection pooled, long now) {
+        long idleTimeout = config.getIdleTimeoutMillis();
+        return idleTimeout > 0 && now - pooled.getLastAccessedAt() >= TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+    }
+
+    private void housekeep() {
+        long now = System.nanoTime();
+        for (PooledConnection pooled : idle) {
+            boolean evict = isExpired(pooled, now)
+                    || (isIdleTooLong(pooled, now) && connections.size() > config.getMinSize());
+            if (evict && idle.remove(pooled)) {
+                discard(pooled);
+            }
+        }
+        while (!closed && connections.size() < config.getMinSize() && permits.tryAcquire()) {
+            try {
+                idle.offerLast(open());
+            } catch (SQLException e) {
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.jdbc.project.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class DaoExecutors {
+    private static final String EXECUTOR_TYPE = "dao.executor";
+    private static final String VIRTUAL = "virtual";
+    private static final String PLATFORM = "platform";
+    private static final Method VIRTUAL_THREAD_FACTORY = findVirtualThreadFactory();
+
+    private DaoExecutors() {
+    }
+
+    public static ExecutorService getDefault() {
+        return Holder.INSTANCE;
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    public static ExecutorService newVirtualThreadExecutor() {
+        if (VIRTUAL_THREAD_FACTORY == null) {
+            throw new IllegalStateException("Virtual threads are not available on Java " + Runtime.version().feature()
+                    + ", set " + EXECUTOR_TYPE + "=" + PLATFORM + " or run on Java 21+");
+        }
+        try {
+            return (ExecutorService) VIRTUAL_THREAD_FACTORY.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create a virtual thread executor", e);
+        }
+    }
+
+    public static ExecutorService newPlatformThreadExecutor(int threads) {
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "dao-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Method findVirtualThreadFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    static ExecutorService newExecutor(String type, int threads) {
+        if (PLATFORM.equals(type)) {
+            return newPlatformThreadExecutor(threads);
+        }
+        if (VIRTUAL.equals(type)) {
+            return newVirtualThreadExecutor();
+        }
+        throw new IllegalArgumentException("Unknown " + EXECUTOR_TYPE + ": " + type);
+    }
+
+    private static ExecutorService newDefaultExecutor() {
+        return newExecutor(PropertiesUtil.getProperty(EXECUTOR_TYPE, PLATFORM),
+                ConnectionManager.getPool().getConfig().getMaxSize());
+    }
+
+    private static class Holder {
+        private static final ExecutorService INSTANCE = newDefaultExecutor();
+    }
+}
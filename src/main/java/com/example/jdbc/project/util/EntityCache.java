@@ -0,0 +1,138 @@
+package com.example.jdbc.project.util;
+
+import com.example.jdbc.project.dto.CacheStats;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public final class EntityCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, Long> loads = new HashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long loadSequence;
+    private long generation;
+
+    public EntityCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    public Optional<V> get(K key) {
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(System.nanoTime())) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.value);
+    }
+
+    public Optional<V> getOrLoad(K key, Function<? super K, Optional<V>> loader) {
+        Optional<V> cached = get(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        long token;
+        synchronized (entries) {
+            token = ++loadSequence;
+            loads.put(key, token);
+        }
+        try {
+            Optional<V> loaded = loader.apply(key);
+            synchronized (entries) {
+                if (loads.remove(key, token) && loaded.isPresent()) {
+                    store(key, loaded.get());
+                }
+            }
+            return loaded;
+        } finally {
+            synchronized (entries) {
+                loads.remove(key, token);
+            }
+        }
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            store(key, value);
+        }
+    }
+
+    public long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    public void putIfUnchanged(K key, V value, long generation) {
+        synchronized (entries) {
+            if (this.generation == generation) {
+                store(key, value);
+            }
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            loads.remove(key);
+            generation++;
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            loads.clear();
+            generation++;
+        }
+    }
+
+    public CacheStats getStats() {
+        synchronized (entries) {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+        }
+    }
+
+    private void store(K key, V value) {
+        entries.put(key, new Entry<>(value, ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE));
+        Iterator<K> eldest = entries.keySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.jdbc.project.util;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class PoolConfig {
+    private static final String POOL_SIZE = "pool.size";
+    private static final String MIN_SIZE = "pool.min.size";
+    private static final String MAX_SIZE = "pool.max.size";
+    private static final String ACQUIRE_TIMEOUT = "pool.acquire.timeout.ms";
+    private static final String IDLE_TIMEOUT = "pool.idle.timeout.ms";
+    private static final String MAX_LIFETIME = "pool.max.lifetime.ms";
+    private static final String VALIDATION_TIMEOUT = "pool.validation.timeout.seconds";
+    private static final String VALIDATION_BYPASS = "pool.validation.bypass.ms";
+    private static final String HOUSEKEEPING_PERIOD = "pool.housekeeping.period.ms";
+    private static final String STATEMENT_CACHE_SIZE = "pool.statement.cache.size";
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    int minSize;
+    int maxSize;
+    long acquireTimeoutMillis;
+    long idleTimeoutMillis;
+    long maxLifetimeMillis;
+    int validationTimeoutSeconds;
+    long validationBypassMillis;
+    long housekeepingPeriodMillis;
+    int statementCacheSize;
+    @Builder.Default
+    boolean failFast = true;
+
+    public static PoolConfig fromProperties() {
+        int maxSize = PropertiesUtil.getInt(MAX_SIZE, PropertiesUtil.getInt(POOL_SIZE, DEFAULT_POOL_SIZE));
+        int minSize = Math.min(PropertiesUtil.getInt(MIN_SIZE, maxSize), maxSize);
+        return PoolConfig.builder()
+                .minSize(minSize)
+                .maxSize(maxSize)
+                .acquireTimeoutMillis(PropertiesUtil.getLong(ACQUIRE_TIMEOUT, 30_000L))
+                .idleTimeoutMillis(PropertiesUtil.getLong(IDLE_TIMEOUT, 600_000L))
+                .maxLifetimeMillis(PropertiesUtil.getLong(MAX_LIFETIME, 1_800_000L))
+                .validationTimeoutSeconds(PropertiesUtil.getInt(VALIDATION_TIMEOUT, 5))
+                .validationBypassMillis(PropertiesUtil.getLong(VALIDATION_BYPASS, 500L))
+                .housekeepingPeriodMillis(PropertiesUtil.getLong(HOUSEKEEPING_PERIOD, 30_000L))
+                .statementCacheSize(PropertiesUtil.getInt(STATEMENT_CACHE_SIZE, 64))
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.jdbc.project.util;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+final class PooledCallableStatement extends DelegatingCallableStatement {
+    private final PooledConnectionHandle owner;
+    private final String sql;
+    private PooledResultSet resultSet;
+    private boolean closed;
+
+    PooledCallableStatement(PooledConnectionHandle owner, CallableStatement delegate, String sql) {
+        super(delegate);
+        this.owner = owner;
+        this.sql = sql;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        ResultSet resultSet = PooledStatement.timed(sql, () -> wrap(delegate.executeQuery()));
+        if (PooledStatement.MODIFYING.matcher(sql).find()) {
+            owner.recordWrite();
+        }
+        return resultSet;
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        return written(PooledStatement.timed(sql, delegate::executeUpdate));
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        return written(PooledStatement.timed(sql, delegate::executeLargeUpdate));
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        boolean hasResultSet = PooledStatement.timed(sql, delegate::execute);
+        if (!hasResultSet) {
+            owner.recordWrite();
+        }
+        return hasResultSet;
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        return written(PooledStatement.timed(sql, delegate::executeBatch));
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        return written(PooledStatement.timed(sql, delegate::executeLargeBatch));
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return wrap(delegate.getResultSet());
+    }
+
+    @Override
+    public Connection getConnection() {
+        return owner;
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed || delegate.isClosed();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        wrap(null);
+        owner.untrack(this);
+        delegate.close();
+    }
+
+    private ResultSet wrap(ResultSet delegateResultSet) {
+        if (resultSet != null) {
+            resultSet.flushRows();
+        }
+        resultSet = delegateResultSet == null ? null : new PooledResultSet(delegateResultSet, this, sql);
+        return resultSet;
+    }
+
+    private <T> T written(T result) throws SQLException {
+        owner.recordWrite();
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.jdbc.project.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+final class PooledConnection {
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final StatementCache statementCache;
+    private final boolean defaultAutoCommit;
+    private final boolean defaultReadOnly;
+    private final int defaultIsolation;
+    private final long createdAt;
+    private volatile long lastAccessedAt;
+
+    PooledConnection(ConnectionPool pool, Connection connection, int statementCacheSize) throws SQLException {
+        this.pool = pool;
+        this.connection = connection;
+        this.statementCache = new StatementCache(statementCacheSize);
+        this.defaultAutoCommit = connection.getAutoCommit();
+        this.defaultReadOnly = connection.isReadOnly();
+        this.defaultIsolation = connection.getTransactionIsolation();
+        this.createdAt = System.nanoTime();
+        this.lastAccessedAt = createdAt;
+    }
+
+    Connection getConnection() {
+        return connection;
+    }
+
+    StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    long getLastAccessedAt() {
+        return lastAccessedAt;
+    }
+
+    void touch() {
+        lastAccessedAt = System.nanoTime();
+    }
+
+    Connection borrow() {
+        return new PooledConnectionHandle(this);
+    }
+
+    void resetState(boolean autoCommitChanged, boolean readOnlyChanged, boolean isolationChanged) throws SQLException {
+        if (autoCommitChanged && !connection.getAutoCommit()) {
+            connection.rollback();
+        }
+        if (readOnlyChanged) {
+            connection.setReadOnly(defaultReadOnly);
+        }
+        if (isolationChanged) {
+            connection.setTransactionIsolation(defaultIsolation);
+        }
+        if (autoCommitChanged) {
+            connection.setAutoCommit(defaultAutoCommit);
+        }
+    }
+
+    void release() {
+        pool.release(this);
+    }
+
+    void closeQuietly() {
+        statementCache.clear();
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.jdbc.project.util;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+final class PooledConnectionHandle extends DelegatingConnection {
+    private final PooledConnection pooled;
+    private final Set<Statement> statements = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private boolean autoCommitChanged;
+    private boolean readOnlyChanged;
+    private boolean isolationChanged;
+    private boolean written;
+
+    PooledConnectionHandle(PooledConnection pooled) {
+        super(pooled.getConnection());
+        this.pooled = pooled;
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return prepareStatement(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        checkOpen();
+        return track(pooled.getStatementCache().prepare(this, delegate, sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        checkOpen();
+        return track(new PooledStatement(this, delegate.prepareStatement(sql, resultSetType, resultSetConcurrency), sql, null));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+                                              int resultSetHoldability) throws SQLException {
+        checkOpen();
+        return track(new PooledStatement(this,
+                delegate.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability), sql, null));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        checkOpen();
+        return track(new PooledStatement(this, delegate.prepareStatement(sql, columnIndexes), sql, null));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        checkOpen();
+        return track(new PooledStatement(this, delegate.prepareStatement(sql, columnNames), sql, null));
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        checkOpen();
+        return track(new PooledPlainStatement(this, delegate.createStatement()));
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        checkOpen();
+        return track(new PooledPlainStatement(this, delegate.createStatement(resultSetType, resultSetConcurrency)));
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        checkOpen();
+        return track(new PooledPlainStatement(this, delegate.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability)));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        checkOpen();
+        return track(new PooledCallableStatement(this, delegate.prepareCall(sql), sql));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        checkOpen();
+        return track(new PooledCallableStatement(this, delegate.prepareCall(sql, resultSetType, resultSetConcurrency), sql));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
+                                         int resultSetHoldability) throws SQLException {
+        checkOpen();
+        return track(new PooledCallableStatement(this, delegate.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability), sql));
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        checkOpen();
+        autoCommitChanged = true;
+        delegate.setAutoCommit(autoCommit);
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        checkOpen();
+        readOnlyChanged = true;
+        delegate.setReadOnly(readOnly);
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        checkOpen();
+        isolationChanged = true;
+        delegate.setTransactionIsolation(level);
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        checkOpen();
+        delegate.commit();
+        if (written) {
+            written = false;
+            ConnectionManager.recordWrite();
+        }
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        checkOpen();
+        written = false;
+        delegate.rollback();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed.get() || delegate.isClosed();
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        closeStatements();
+        try {
+            pooled.resetState(autoCommitChanged, readOnlyChanged, isolationChanged);
+        } catch (SQLException e) {
+            pooled.closeQuietly();
+        }
+        pooled.release();
+    }
+
+    private <S extends Statement> S track(S statement) {
+        statements.add(statement);
+        return statement;
+    }
+
+    void recordWrite() throws SQLException {
+        if (delegate.getAutoCommit()) {
+            ConnectionManager.recordWrite();
+        } else {
+            written = true;
+        }
+    }
+
+    void untrack(Statement statement) {
+        statements.remove(statement);
+    }
+
+    int getOpenStatementCount() {
+        return statements.size();
+    }
+
+    private void closeStatements() {
+        for (Statement statement : statements.toArray(new Statement[0])) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        }
+        statements.clear();
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection has already been returned to the pool");
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.jdbc.project.util;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+final class PooledPlainStatement extends DelegatingStatement<Statement> {
+    private final PooledConnectionHandle owner;
+    private String sql;
+    private PooledResultSet resultSet;
+    private boolean closed;
+
+    PooledPlainStatement(PooledConnectionHandle owner, Statement delegate) {
+        super(delegate);
+        this.owner = owner;
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        this.sql = sql;
+        ResultSet resultSet = PooledStatement.timed(sql, () -> wrap(delegate.executeQuery(sql)));
+        if (PooledStatement.MODIFYING.matcher(sql).find()) {
+            owner.recordWrite();
+        }
+        return resultSet;
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        this.sql = sql;
+        boolean hasResultSet = PooledStatement.timed(sql, () -> delegate.execute(sql));
+        if (!hasResultSet) {
+            owner.recordWrite();
+        }
+        return hasResultSet;
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        this.sql = sql;
+        boolean hasResultSet = PooledStatement.timed(sql, () -> delegate.execute(sql, autoGeneratedKeys));
+        if (!hasResultSet) {
+            owner.recordWrite();
+        }
+        return hasResultSet;
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        this.sql = sql;
+        boolean hasResultSet = PooledStatement.timed(sql, () -> delegate.execute(sql, columnIndexes));
+        if (!hasResultSet) {
+            owner.recordWrite();
+        }
+        return hasResultSet;
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        this.sql = sql;
+        boolean hasResultSet = PooledStatement.timed(sql, () -> delegate.execute(sql, columnNames));
+        if (!hasResultSet) {
+            owner.recordWrite();
+        }
+        return hasResultSet;
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        return written(PooledStatement.timed(sql, () -> delegate.executeUpdate(sql)));
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        return written(PooledStatement.timed(sql, () -> delegate.executeUpdate(sql, autoGeneratedKeys)));
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        return written(PooledStatement.timed(sql, () -> delegate.executeUpdate(sql, columnIndexes)));
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        return written(PooledStatement.timed(sql, () -> delegate.executeUpdate(sql, columnNames)));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        return written(PooledStatement.timed(sql, () -> delegate.executeLargeUpdate(sql)));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        return written(PooledStatement.timed(sql, () -> delegate.executeLargeUpdate(sql, autoGeneratedKeys)));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        return written(PooledStatement.timed(sql, () -> delegate.executeLargeUpdate(sql, columnIndexes)));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        return written(PooledStatement.timed(sql, () -> delegate.executeLargeUpdate(sql, columnNames)));
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        if (this.sql == null) {
+            this.sql = sql;
+        }
+        delegate.addBatch(sql);
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        sql = null;
+        delegate.clearBatch();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        String batchSql = sql;
+        sql = null;
+        return written(PooledStatement.timed(batchSql, delegate::executeBatch));
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        String batchSql = sql;
+        sql = null;
+        return written(PooledStatement.timed(batchSql, delegate::executeLargeBatch));
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return wrap(delegate.getResultSet());
+    }
+
+    @Override
+    public Connection getConnection() {
+        return owner;
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed || delegate.isClosed();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        wrap(null);
+        owner.untrack(this);
+        delegate.close();
+    }
+
+    private ResultSet wrap(ResultSet delegateResultSet) {
+        if (resultSet != null) {
+            resultSet.flushRows();
+        }
+        resultSet = delegateResultSet == null ? null : new PooledResultSet(delegateResultSet, this, sql);
+        return resultSet;
+    }
+
+    private <T> T written(T result) throws SQLException {
+        owner.recordWrite();
+        return result;
+    }
+}
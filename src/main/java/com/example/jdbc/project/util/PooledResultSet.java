@@ -0,0 +1,46 @@
+package com.example.jdbc.project.util;
+
+import com.example.jdbc.project.metrics.Metrics;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+final class PooledResultSet extends DelegatingResultSet {
+    private final Statement statement;
+    private final String sql;
+    private long rows;
+
+    PooledResultSet(ResultSet delegate, Statement statement, String sql) {
+        super(delegate);
+        this.statement = statement;
+        this.sql = sql;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        boolean hasNext = delegate.next();
+        if (hasNext) {
+            rows++;
+        }
+        return hasNext;
+    }
+
+    @Override
+    public Statement getStatement() {
+        return statement;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flushRows();
+        delegate.close();
+    }
+
+    void flushRows() {
+        if (rows > 0 && Metrics.isEnabled()) {
+            Metrics.recordRows(sql, rows);
+        }
+        rows = 0;
+    }
+}
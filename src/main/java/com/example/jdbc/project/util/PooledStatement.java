@@ -0,0 +1,123 @@
+package com.example.jdbc.project.util;
+
+import com.example.jdbc.project.metrics.Metrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+final class PooledStatement extends DelegatingPreparedStatement<PreparedStatement> {
+    static final Pattern MODIFYING = Pattern.compile("\\b(?:INSERT|UPDATE|DELETE|MERGE)\\b", Pattern.CASE_INSENSITIVE);
+    private final PooledConnectionHandle owner;
+    private final String sql;
+    private final StatementCache.Entry entry;
+    private PooledResultSet resultSet;
+    private boolean closed;
+
+    PooledStatement(PooledConnectionHandle owner, PreparedStatement delegate, String sql, StatementCache.Entry entry) {
+        super(delegate);
+        this.owner = owner;
+        this.sql = sql;
+        this.entry = entry;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        return modifying(sql, timed(sql, () -> wrap(delegate.executeQuery())));
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        return written(timed(sql, delegate::executeUpdate));
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        return written(timed(sql, delegate::executeLargeUpdate));
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        boolean hasResultSet = timed(sql, delegate::execute);
+        if (!hasResultSet) {
+            owner.recordWrite();
+        }
+        return hasResultSet;
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        return written(timed(sql, delegate::executeBatch));
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        return written(timed(sql, delegate::executeLargeBatch));
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return wrap(delegate.getResultSet());
+    }
+
+    @Override
+    public Connection getConnection() {
+        return owner;
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed || delegate.isClosed();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        wrap(null);
+        owner.untrack(this);
+        if (entry != null) {
+            entry.giveBack();
+        } else {
+            delegate.close();
+        }
+    }
+
+    private ResultSet wrap(ResultSet delegateResultSet) {
+        if (resultSet != null) {
+            resultSet.flushRows();
+        }
+        resultSet = delegateResultSet == null ? null : new PooledResultSet(delegateResultSet, this, sql);
+        return resultSet;
+    }
+
+    private ResultSet modifying(String sql, ResultSet resultSet) throws SQLException {
+        if (MODIFYING.matcher(sql).find()) {
+            owner.recordWrite();
+        }
+        return resultSet;
+    }
+
+    static <T> T timed(String sql, SqlCall<T> call) throws SQLException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.call();
+            failed = false;
+            return result;
+        } finally {
+            if (Metrics.isEnabled()) {
+                Metrics.recordQuery(sql, System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    private <T> T written(T result) throws SQLException {
+        owner.recordWrite();
+        return result;
+    }
+}
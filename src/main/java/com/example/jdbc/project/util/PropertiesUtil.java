@@ -16,7 +16,22 @@ public final class PropertiesUtil {
     }
 
     public static String getProperty(String key) {
-        return PROPERTIES.getProperty(key);
+        return System.getProperty(key, PROPERTIES.getProperty(key));
+    }
+
+    public static String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = getProperty(key);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
     }
 
     private static void loadProperties() {
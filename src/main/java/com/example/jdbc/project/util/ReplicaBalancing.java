@@ -0,0 +1,6 @@
+package com.example.jdbc.project.util;
+
+public enum ReplicaBalancing {
+    ROUND_ROBIN,
+    LEAST_BUSY
+}
@@ -0,0 +1,81 @@
+package com.example.jdbc.project.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class ReplicaRouter implements AutoCloseable {
+    private final List<ConnectionPool> replicas;
+    private final ReplicaBalancing balancing;
+    private final long retryNanos;
+    private final AtomicLongArray downUntil;
+    private final AtomicInteger next = new AtomicInteger();
+
+    ReplicaRouter(List<ConnectionPool> replicas, ReplicaBalancing balancing, long retryMillis) {
+        this.replicas = replicas;
+        this.balancing = balancing;
+        this.retryNanos = TimeUnit.MILLISECONDS.toNanos(retryMillis);
+        this.downUntil = new AtomicLongArray(replicas.size());
+    }
+
+    Connection getConnection(ConnectionPool fallback) throws SQLException {
+        int size = replicas.size();
+        long now = System.nanoTime();
+        int start = balancing == ReplicaBalancing.LEAST_BUSY ? leastBusy(now) : Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; start >= 0 && i < size; i++) {
+            int index = (start + i) % size;
+            if (isDown(index, now)) {
+                continue;
+            }
+            try {
+                return replicas.get(index).getConnection();
+            } catch (SQLTimeoutException e) {
+                continue;
+            } catch (SQLException e) {
+                markDown(index);
+            }
+        }
+        return fallback.getConnection();
+    }
+
+    List<ConnectionPool> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        for (ConnectionPool replica : replicas) {
+            replica.close();
+        }
+    }
+
+    private int leastBusy(long now) {
+        int best = -1;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            if (isDown(i, now)) {
+                continue;
+            }
+            ConnectionPool replica = replicas.get(i);
+            int load = replica.getActiveConnections() + replica.getWaitingThreads();
+            if (load < bestLoad) {
+                best = i;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private boolean isDown(int index, long now) {
+        long until = downUntil.get(index);
+        return until != 0 && until - now > 0;
+    }
+
+    private void markDown(int index) {
+        downUntil.set(index, System.nanoTime() + retryNanos);
+    }
+}
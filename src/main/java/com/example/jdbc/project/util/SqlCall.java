@@ -0,0 +1,9 @@
+package com.example.jdbc.project.util;
+
+import java.sql.SQLException;
+
+@FunctionalInterface
+interface SqlCall<T> {
+
+    T call() throws SQLException;
+}
@@ -0,0 +1,111 @@
+package com.example.jdbc.project.util;
+
+import lombok.Value;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class StatementCache {
+    private final int maxSize;
+    private final Map<Key, Entry> entries;
+
+    StatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    PreparedStatement prepare(PooledConnectionHandle owner, Connection physical, String sql, int autoGeneratedKeys) throws SQLException {
+        if (maxSize <= 0) {
+            return new PooledStatement(owner, physical.prepareStatement(sql, autoGeneratedKeys), sql, null);
+        }
+        Key key = new Key(sql, autoGeneratedKeys);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(key, physical.prepareStatement(sql, autoGeneratedKeys));
+            entries.put(key, entry);
+            evictEldest();
+        } else if (entry.inUse) {
+            return new PooledStatement(owner, physical.prepareStatement(sql, autoGeneratedKeys), sql, null);
+        }
+        entry.inUse = true;
+        return new PooledStatement(owner, entry.statement, sql, entry);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear() {
+        for (Entry entry : entries.values()) {
+            entry.evicted = true;
+            if (!entry.inUse) {
+                entry.closeQuietly();
+            }
+        }
+        entries.clear();
+    }
+
+    private void evictEldest() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        Map.Entry<Key, Entry> eldest = entries.entrySet().iterator().next();
+        entries.remove(eldest.getKey());
+        Entry entry = eldest.getValue();
+        entry.evicted = true;
+        if (!entry.inUse) {
+            entry.closeQuietly();
+        }
+    }
+
+    @Value
+    private static class Key {
+        String sql;
+        int autoGeneratedKeys;
+    }
+
+    final class Entry {
+        private final Key key;
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+
+        private Entry(Key key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        void giveBack() throws SQLException {
+            inUse = false;
+            if (evicted) {
+                statement.close();
+                return;
+            }
+            try {
+                ResultSet resultSet = statement.getResultSet();
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.setFetchSize(0);
+            } catch (SQLException e) {
+                evicted = true;
+                entries.remove(key, this);
+                statement.close();
+                throw e;
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+}
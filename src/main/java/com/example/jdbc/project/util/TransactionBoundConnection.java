@@ -0,0 +1,50 @@
+package com.example.jdbc.project.util;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+final class TransactionBoundConnection extends DelegatingConnection {
+    private final TransactionOptions options;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+
+    TransactionBoundConnection(Connection delegate, TransactionOptions options) {
+        super(delegate);
+        this.options = options;
+    }
+
+    TransactionOptions getOptions() {
+        return options;
+    }
+
+    void afterCommit(Runnable action) {
+        afterCommit.add(action);
+    }
+
+    void runAfterCommit() {
+        for (Runnable action : afterCommit) {
+            action.run();
+        }
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) {
+    }
+
+    @Override
+    public boolean getAutoCommit() {
+        return false;
+    }
+
+    @Override
+    public void commit() {
+    }
+
+    @Override
+    public void rollback() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.jdbc.project.util;
+
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface TransactionCallback<T> {
+
+    T doInTransaction() throws SQLException;
+}
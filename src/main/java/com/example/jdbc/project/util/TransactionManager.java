@@ -0,0 +1,104 @@
+package com.example.jdbc.project.util;
+
+import com.example.jdbc.project.exception.DaoException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+public final class TransactionManager {
+    private static final ThreadLocal<TransactionBoundConnection> CURRENT = new ThreadLocal<>();
+
+    private TransactionManager() {
+    }
+
+    public static <T> T inTransaction(TransactionCallback<T> callback) {
+        return inTransaction(TransactionOptions.DEFAULT, callback);
+    }
+
+    public static <T> T inTransaction(TransactionOptions options, TransactionCallback<T> callback) {
+        TransactionBoundConnection current = CURRENT.get();
+        return current == null ? begin(options, callback) : nested(current, options, callback);
+    }
+
+    public static void afterCommit(Runnable action) {
+        TransactionBoundConnection current = CURRENT.get();
+        if (current == null) {
+            action.run();
+        } else {
+            current.afterCommit(action);
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static Connection currentConnection() {
+        return CURRENT.get();
+    }
+
+    private static <T> T begin(TransactionOptions options, TransactionCallback<T> callback) {
+        TransactionBoundConnection bound;
+        T result;
+        try (Connection connection = ConnectionManager.getPool().getConnection()) {
+            connection.setAutoCommit(false);
+            if (options.getIsolation() != TransactionOptions.DEFAULT_ISOLATION) {
+                connection.setTransactionIsolation(options.getIsolation());
+            }
+            if (options.isReadOnly()) {
+                connection.setReadOnly(true);
+            }
+            bound = new TransactionBoundConnection(connection, options);
+            CURRENT.set(bound);
+            try {
+                result = callback.doInTransaction();
+                connection.commit();
+            } catch (SQLException | RuntimeException | Error e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            } finally {
+                CURRENT.remove();
+            }
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+        bound.runAfterCommit();
+        return result;
+    }
+
+    private static <T> T nested(TransactionBoundConnection connection, TransactionOptions options,
+                                TransactionCallback<T> callback) {
+        checkCompatible(connection.getOptions(), options);
+        try {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                T result = callback.doInTransaction();
+                connection.releaseSavepoint(savepoint);
+                return result;
+            } catch (SQLException | RuntimeException | Error e) {
+                try {
+                    connection.rollback(savepoint);
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private static void checkCompatible(TransactionOptions outer, TransactionOptions inner) {
+        boolean isolationDiffers = inner.getIsolation() != TransactionOptions.DEFAULT_ISOLATION
+                && inner.getIsolation() != outer.getIsolation();
+        boolean readOnlyDiffers = inner.getReadOnly() != null && inner.isReadOnly() != outer.isReadOnly();
+        if (isolationDiffers || readOnlyDiffers) {
+            throw new IllegalStateException("Nested transaction " + inner + " does not match outer transaction " + outer);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.jdbc.project.util;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class TransactionOptions {
+    public static final TransactionOptions DEFAULT = TransactionOptions.builder().build();
+    public static final int DEFAULT_ISOLATION = -1;
+
+    @Builder.Default
+    int isolation = DEFAULT_ISOLATION;
+    Boolean readOnly;
+
+    public boolean isReadOnly() {
+        return Boolean.TRUE.equals(readOnly);
+    }
+}
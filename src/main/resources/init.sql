@@ -47,6 +47,32 @@ CREATE TABLE ticket
 
 CREATE UNIQUE INDEX unique_flight_id_seat_no_idx ON ticket (flight_id, seat_no);
 
+CREATE INDEX ticket_passenger_name_idx ON ticket (passenger_name);
+
+CREATE INDEX ticket_seat_no_idx ON ticket (seat_no);
+
+CREATE INDEX ticket_cost_idx ON ticket (cost);
+
+CREATE INDEX flight_route_departure_date_idx ON flight (departure_airport_code, arrival_airport_code, departure_date);
+
+CREATE INDEX flight_departure_airport_date_idx ON flight (departure_airport_code, departure_date);
+
+CREATE INDEX flight_departure_date_idx ON flight (departure_date);
+
+CREATE INDEX flight_status_departure_date_idx ON flight (status, departure_date);
+
+
+CREATE TABLE seat_hold
+(
+    flight_id  BIGINT REFERENCES flight (id) NOT NULL,
+    seat_no    VARCHAR(4)                    NOT NULL,
+    token      UUID                          NOT NULL UNIQUE,
+    expires_at TIMESTAMP                     NOT NULL,
+    PRIMARY KEY (flight_id, seat_no)
+);
+
+CREATE INDEX seat_hold_expires_at_idx ON seat_hold (expires_at);
+
 
 insert into airport (code, country, city)
 values ('MNK', 'Беларусь', 'Минск'),
@@ -132,4 +158,224 @@ values ('112233', 'Иван Иванов', 1, 'A1', 200),
        ('112233', 'Иван Иванов', 9, 'С2', 135),
        ('NMNBV2', 'Лариса Тельникова', 9, 'B2', 217),
        ('23234A', 'Петр Петров', 9, 'D1', 189),
-       ('123951', 'Полина Зверева', 9, 'D2', 234);
\ No newline at end of file
+       ('123951', 'Полина Зверева', 9, 'D2', 234);
+
+CREATE MATERIALIZED VIEW flight_revenue_summary AS
+SELECT f.id                           flight_id,
+       f.flight_no,
+       f.departure_airport_code,
+       f.arrival_airport_code,
+       COALESCE(t.tickets_sold, 0) tickets_sold,
+       COALESCE(t.revenue, 0)      revenue,
+       t.average_cost,
+       COALESCE(s.seat_count, 0)   seat_count
+FROM flight f
+         LEFT JOIN (SELECT flight_id, count(*) tickets_sold, sum(cost) revenue, round(avg(cost), 2) average_cost
+                    FROM ticket
+                    GROUP BY flight_id) t ON t.flight_id = f.id
+         LEFT JOIN (SELECT aircraft_id, count(*) seat_count FROM seat GROUP BY aircraft_id) s
+                   ON s.aircraft_id = f.aircraft_id;
+
+CREATE UNIQUE INDEX flight_revenue_summary_flight_id_idx ON flight_revenue_summary (flight_id);
+
+CREATE FUNCTION notify_flight_change() RETURNS trigger AS
+$$
+DECLARE
+    changed BIGINT;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        SELECT count(*) INTO changed FROM old_rows;
+    ELSE
+        SELECT count(*) INTO changed FROM new_rows;
+    END IF;
+    IF changed > TG_ARGV[0]::int THEN
+        PERFORM pg_notify('flight_changes', json_build_object('op', 'REFRESH')::text);
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('flight_changes', json_build_object(
+                'op', TG_OP, 'id', o.id, 'status', o.status, 'aircraft_id', o.aircraft_id)::text)
+        FROM old_rows o;
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM pg_notify('flight_changes', json_build_object(
+                'op', TG_OP, 'id', n.id, 'status', n.status, 'aircraft_id', n.aircraft_id,
+                'old_status', o.status, 'old_aircraft_id', o.aircraft_id)::text)
+        FROM new_rows n
+                 JOIN old_rows o ON o.id = n.id;
+    ELSE
+        PERFORM pg_notify('flight_changes', json_build_object(
+                'op', TG_OP, 'id', n.id, 'status', n.status, 'aircraft_id', n.aircraft_id)::text)
+        FROM new_rows n;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER flight_insert_notify
+    AFTER INSERT
+    ON flight
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_flight_change(100);
+
+CREATE TRIGGER flight_update_notify
+    AFTER UPDATE
+    ON flight
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_flight_change(100);
+
+CREATE TRIGGER flight_delete_notify
+    AFTER DELETE
+    ON flight
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_flight_change(100);
+
+CREATE FUNCTION notify_ticket_change() RETURNS trigger AS
+$$
+DECLARE
+    changed BIGINT;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        SELECT count(*) INTO changed FROM old_rows;
+    ELSE
+        SELECT count(*) INTO changed FROM new_rows;
+    END IF;
+    IF changed > TG_ARGV[0]::int THEN
+        IF TG_OP = 'INSERT' THEN
+            PERFORM pg_notify('ticket_changes', json_build_object('op', 'REFRESH', 'flight_id', f.flight_id)::text)
+            FROM (SELECT DISTINCT flight_id FROM new_rows) f;
+        ELSIF TG_OP = 'DELETE' THEN
+            PERFORM pg_notify('ticket_changes', json_build_object('op', 'REFRESH', 'flight_id', f.flight_id)::text)
+            FROM (SELECT DISTINCT flight_id FROM old_rows) f;
+        ELSE
+            PERFORM pg_notify('ticket_changes', json_build_object('op', 'REFRESH', 'flight_id', f.flight_id)::text)
+            FROM (SELECT flight_id FROM new_rows UNION SELECT flight_id FROM old_rows) f;
+        END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('ticket_changes', json_build_object(
+                'op', TG_OP, 'id', o.id, 'flight_id', o.flight_id, 'seat_no', o.seat_no)::text)
+        FROM old_rows o;
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM pg_notify('ticket_changes', json_build_object(
+                'op', TG_OP, 'id', n.id, 'flight_id', n.flight_id, 'seat_no', n.seat_no,
+                'old_flight_id', o.flight_id, 'old_seat_no', o.seat_no)::text)
+        FROM new_rows n
+                 JOIN old_rows o ON o.id = n.id;
+    ELSE
+        PERFORM pg_notify('ticket_changes', json_build_object(
+                'op', TG_OP, 'id', n.id, 'flight_id', n.flight_id, 'seat_no', n.seat_no)::text)
+        FROM new_rows n;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER ticket_insert_notify
+    AFTER INSERT
+    ON ticket
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_ticket_change(100);
+
+CREATE TRIGGER ticket_update_notify
+    AFTER UPDATE
+    ON ticket
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_ticket_change(100);
+
+CREATE TRIGGER ticket_delete_notify
+    AFTER DELETE
+    ON ticket
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_ticket_change(100);
+
+CREATE FUNCTION notify_reference_change() RETURNS trigger AS
+$$
+DECLARE
+    keys TEXT[];
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        SELECT array_agg(DISTINCT row_to_json(o) ->> TG_ARGV[0]) INTO keys FROM old_rows o;
+    ELSIF TG_OP = 'UPDATE' THEN
+        SELECT array_agg(u.key) INTO keys
+        FROM (SELECT row_to_json(n) ->> TG_ARGV[0] AS key FROM new_rows n
+              UNION
+              SELECT row_to_json(o) ->> TG_ARGV[0] FROM old_rows o) u;
+    ELSE
+        SELECT array_agg(DISTINCT row_to_json(n) ->> TG_ARGV[0]) INTO keys FROM new_rows n;
+    END IF;
+    IF cardinality(keys) > TG_ARGV[1]::int THEN
+        PERFORM pg_notify('reference_changes', json_build_object('op', 'REFRESH', 'table', TG_TABLE_NAME)::text);
+    ELSE
+        PERFORM pg_notify('reference_changes', json_build_object(
+                'op', TG_OP, 'table', TG_TABLE_NAME, 'key', k.key)::text)
+        FROM unnest(keys) k(key);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER airport_insert_notify
+    AFTER INSERT
+    ON airport
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_reference_change('code', 100);
+
+CREATE TRIGGER airport_update_notify
+    AFTER UPDATE
+    ON airport
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_reference_change('code', 100);
+
+CREATE TRIGGER airport_delete_notify
+    AFTER DELETE
+    ON airport
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_reference_change('code', 100);
+
+CREATE TRIGGER aircraft_insert_notify
+    AFTER INSERT
+    ON aircraft
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_reference_change('id', 100);
+
+CREATE TRIGGER aircraft_update_notify
+    AFTER UPDATE
+    ON aircraft
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_reference_change('id', 100);
+
+CREATE TRIGGER aircraft_delete_notify
+    AFTER DELETE
+    ON aircraft
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_reference_change('id', 100);
+
+CREATE TRIGGER seat_insert_notify
+    AFTER INSERT
+    ON seat
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_reference_change('aircraft_id', 100);
+
+CREATE TRIGGER seat_update_notify
+    AFTER UPDATE
+    ON seat
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_reference_change('aircraft_id', 100);
+
+CREATE TRIGGER seat_delete_notify
+    AFTER DELETE
+    ON seat
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_reference_change('aircraft_id', 100);
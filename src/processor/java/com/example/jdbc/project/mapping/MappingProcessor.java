@@ -0,0 +1,295 @@
+package com.example.jdbc.project.mapping;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@SupportedAnnotationTypes("com.example.jdbc.project.mapping.Table")
+public class MappingProcessor extends AbstractProcessor {
+    private static final Map<String, String> PRIMITIVE_TYPES = Map.of(
+            "java.lang.Long", "Long",
+            "long", "Long",
+            "java.lang.Integer", "Int",
+            "int", "Int",
+            "java.lang.Boolean", "Boolean",
+            "boolean", "Boolean",
+            "java.lang.Double", "Double",
+            "double", "Double",
+            "java.lang.String", "String",
+            "java.math.BigDecimal", "BigDecimal");
+    private static final Set<String> OBJECT_TYPES = Set.of(
+            "java.time.LocalDateTime",
+            "java.time.LocalDate",
+            "java.util.UUID");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Table.class)) {
+            TypeElement entity = (TypeElement) element;
+            List<Property> properties = collectProperties(entity);
+            if (properties == null) {
+                continue;
+            }
+            try {
+                write(entity, properties);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), entity);
+            }
+        }
+        return true;
+    }
+
+    private List<Property> collectProperties(TypeElement entity) {
+        List<Property> properties = new ArrayList<>();
+        for (Element member : entity.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD || member.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            VariableElement field = (VariableElement) member;
+            String type = field.asType().toString();
+            if (!PRIMITIVE_TYPES.containsKey(type) && !OBJECT_TYPES.contains(type)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unsupported column type " + type, field);
+                return null;
+            }
+            String name = field.getSimpleName().toString();
+            Column column = field.getAnnotation(Column.class);
+            Id id = field.getAnnotation(Id.class);
+            properties.add(new Property(name, column == null ? toSnakeCase(name) : column.value(), type,
+                    id != null, id != null && id.generated()));
+        }
+        if (properties.stream().noneMatch(property -> property.id)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Entity has no @Id field", entity);
+            return null;
+        }
+        return properties;
+    }
+
+    private void write(TypeElement entity, List<Property> properties) throws IOException {
+        String packageName = ((PackageElement) entity.getEnclosingElement()).getQualifiedName().toString();
+        String entityName = entity.getSimpleName().toString();
+        String className = entityName + "Mapping";
+        String variable = Character.toLowerCase(entityName.charAt(0)) + entityName.substring(1);
+        String table = entity.getAnnotation(Table.class).value();
+
+        List<Property> ids = properties.stream().filter(property -> property.id).collect(Collectors.toList());
+        List<Property> insertable = properties.stream().filter(property -> !property.generated).collect(Collectors.toList());
+        List<Property> updatable = properties.stream().filter(property -> !property.id).collect(Collectors.toList());
+        String idCondition = ids.stream().map(property -> property.column + " = ?").collect(Collectors.joining(" AND "));
+        String columns = properties.stream().map(property -> property.column).collect(Collectors.joining(", "));
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(packageName + "." + className, entity).openWriter())) {
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("import java.sql.PreparedStatement;");
+            out.println("import java.sql.ResultSet;");
+            out.println("import java.sql.SQLException;");
+            if (!updatable.isEmpty()) {
+                out.println("import java.util.Set;");
+            }
+            out.println();
+            out.println("@javax.annotation.processing.Generated(\"" + MappingProcessor.class.getName() + "\")");
+            out.println("public final class " + className + " {");
+            out.println("    public static final String TABLE = \"" + table + "\";");
+            out.println("    public static final String COLUMNS = \"" + columns + "\";");
+            out.println("    public static final int COLUMN_COUNT = " + properties.size() + ";");
+            out.println("    public static final String SELECT_SQL = \"SELECT " + columns + " FROM " + table + "\";");
+            out.println("    public static final String FIND_BY_ID_SQL = SELECT_SQL + \" WHERE " + idCondition + "\";");
+            out.println("    public static final String INSERT_SQL = \"INSERT INTO " + table + "("
+                    + insertable.stream().map(property -> property.column).collect(Collectors.joining(", "))
+                    + ") VALUES (" + insertable.stream().map(property -> "?").collect(Collectors.joining(", ")) + ")\";");
+            if (!updatable.isEmpty()) {
+                out.println("    public static final String UPDATE_SQL = \"UPDATE " + table + " SET "
+                        + updatable.stream().map(property -> property.column + " = ?").collect(Collectors.joining(", "))
+                        + " WHERE " + idCondition + "\";");
+            }
+            out.println("    public static final String UPSERT_SQL = \"INSERT INTO " + table + "(" + columns + ") VALUES ("
+                    + properties.stream().map(property -> "?").collect(Collectors.joining(", "))
+                    + ") ON CONFLICT (" + ids.stream().map(property -> property.column).collect(Collectors.joining(", ")) + ") "
+                    + (updatable.isEmpty()
+                    ? "DO NOTHING"
+                    : "DO UPDATE SET " + updatable.stream()
+                    .map(property -> property.column + " = EXCLUDED." + property.column)
+                    .collect(Collectors.joining(", ")))
+                    + "\";");
+            out.println("    public static final String DELETE_SQL = \"DELETE FROM " + table + " WHERE " + idCondition + "\";");
+            out.println();
+            out.println("    private " + className + "() {");
+            out.println("    }");
+            if (!updatable.isEmpty()) {
+                printFieldEnum(out, updatable);
+            }
+            out.println();
+            out.println("    public static " + entityName + " map(ResultSet resultSet) throws SQLException {");
+            out.println("        return map(resultSet, 1);");
+            out.println("    }");
+            out.println();
+            out.println("    public static " + entityName + " map(ResultSet resultSet, int offset) throws SQLException {");
+            out.println("        return " + entityName + ".builder()");
+            for (int i = 0; i < properties.size(); i++) {
+                Property property = properties.get(i);
+                out.println("                ." + property.name + "(" + property.read(i == 0 ? "offset" : "offset + " + i) + ")");
+            }
+            out.println("                .build();");
+            out.println("    }");
+            out.println();
+            out.println("    public static int bindInsert(PreparedStatement preparedStatement, " + entityName + " " + variable + ") throws SQLException {");
+            printBindings(out, variable, insertable);
+            out.println("    }");
+            if (!updatable.isEmpty()) {
+                List<Property> updateParameters = new ArrayList<>(updatable);
+                updateParameters.addAll(ids);
+                out.println();
+                out.println("    public static int bindUpdate(PreparedStatement preparedStatement, " + entityName + " " + variable + ") throws SQLException {");
+                printBindings(out, variable, updateParameters);
+                out.println("    }");
+            }
+            out.println();
+            out.println("    public static int bindUpsert(PreparedStatement preparedStatement, " + entityName + " " + variable + ") throws SQLException {");
+            printBindings(out, variable, properties);
+            out.println("    }");
+            if (!updatable.isEmpty()) {
+                printPatch(out, entityName, variable, table, idCondition, updatable, ids);
+            }
+            out.println();
+            out.println("    public static int bindId(PreparedStatement preparedStatement, " + entityName + " " + variable + ") throws SQLException {");
+            printBindings(out, variable, ids);
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void printBindings(PrintWriter out, String variable, List<Property> properties) {
+        for (int i = 0; i < properties.size(); i++) {
+            out.println("        " + properties.get(i).bind(String.valueOf(i + 1), variable) + ";");
+        }
+        out.println("        return " + (properties.size() + 1) + ";");
+    }
+
+    private void printFieldEnum(PrintWriter out, List<Property> updatable) {
+        out.println();
+        out.println("    public enum Field {");
+        for (int i = 0; i < updatable.size(); i++) {
+            Property property = updatable.get(i);
+            out.println("        " + toConstantCase(property.name) + "(\"" + property.column + "\")"
+                    + (i == updatable.size() - 1 ? ";" : ","));
+        }
+        out.println();
+        out.println("        private final String column;");
+        out.println();
+        out.println("        Field(String column) {");
+        out.println("            this.column = column;");
+        out.println("        }");
+        out.println();
+        out.println("        public String getColumn() {");
+        out.println("            return column;");
+        out.println("        }");
+        out.println("    }");
+    }
+
+    private void printPatch(PrintWriter out, String entityName, String variable, String table, String idCondition,
+                            List<Property> updatable, List<Property> ids) {
+        out.println();
+        out.println("    public static String patchSql(Set<Field> fields) {");
+        out.println("        StringBuilder sql = new StringBuilder(\"UPDATE " + table + " SET \");");
+        out.println("        for (Field field : Field.values()) {");
+        out.println("            if (fields.contains(field)) {");
+        out.println("                sql.append(field.column).append(\" = ?, \");");
+        out.println("            }");
+        out.println("        }");
+        out.println("        if (fields.isEmpty()) {");
+        out.println("            throw new IllegalArgumentException(\"At least one " + entityName + " field is required\");");
+        out.println("        }");
+        out.println("        sql.setLength(sql.length() - 2);");
+        out.println("        return sql.append(\" WHERE " + idCondition + "\").toString();");
+        out.println("    }");
+        out.println();
+        out.println("    public static int bindPatch(PreparedStatement preparedStatement, " + entityName + " " + variable
+                + ", Set<Field> fields) throws SQLException {");
+        out.println("        int index = 1;");
+        out.println("        for (Field field : Field.values()) {");
+        out.println("            if (!fields.contains(field)) {");
+        out.println("                continue;");
+        out.println("            }");
+        out.println("            switch (field) {");
+        for (Property property : updatable) {
+            out.println("                case " + toConstantCase(property.name) + ":");
+            out.println("                    " + property.bind("index++", variable) + ";");
+            out.println("                    break;");
+        }
+        out.println("            }");
+        out.println("        }");
+        for (Property property : ids) {
+            out.println("        " + property.bind("index++", variable) + ";");
+        }
+        out.println("        return index;");
+        out.println("    }");
+    }
+
+    private static String toConstantCase(String name) {
+        return toSnakeCase(name).toUpperCase();
+    }
+
+    private static String toSnakeCase(String name) {
+        StringBuilder column = new StringBuilder();
+        for (char c : name.toCharArray()) {
+            if (Character.isUpperCase(c)) {
+                column.append('_').append(Character.toLowerCase(c));
+            } else {
+                column.append(c);
+            }
+        }
+        return column.toString();
+    }
+
+    private static final class Property {
+        private final String name;
+        private final String column;
+        private final String type;
+        private final boolean id;
+        private final boolean generated;
+
+        private Property(String name, String column, String type, boolean id, boolean generated) {
+            this.name = name;
+            this.column = column;
+            this.type = type;
+            this.id = id;
+            this.generated = generated;
+        }
+
+        private String read(String index) {
+            String accessor = PRIMITIVE_TYPES.get(type);
+            return accessor != null
+                    ? "resultSet.get" + accessor + "(" + index + ")"
+                    : "resultSet.getObject(" + index + ", " + type + ".class)";
+        }
+
+        private String bind(String index, String variable) {
+            String accessor = PRIMITIVE_TYPES.get(type);
+            String getter = variable + "." + (type.equals("boolean") ? "is" : "get")
+                    + Character.toUpperCase(name.charAt(0)) + name.substring(1) + "()";
+            return accessor != null
+                    ? "preparedStatement.set" + accessor + "(" + index + ", " + getter + ")"
+                    : "preparedStatement.setObject(" + index + ", " + getter + ")";
+        }
+    }
+}
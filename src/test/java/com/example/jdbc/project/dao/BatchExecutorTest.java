@@ -0,0 +1,78 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.Aircraft;
+import com.example.jdbc.project.entity.Seat;
+import com.example.jdbc.project.exception.DaoException;
+import com.example.jdbc.project.util.PropertiesUtil;
+import com.example.jdbc.project.util.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchExecutorTest {
+    private static final int BATCH_SIZE = PropertiesUtil.getInt("dao.batch.size", 500);
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @Test
+    void missingGeneratedKeysFailTheBatch() {
+        Aircraft existing = AircraftDao.getInstance().create(Aircraft.builder().model("Existing").build());
+        List<Aircraft> aircraftList = List.of(
+                Aircraft.builder().id(existing.getId()).model("Duplicate").build(),
+                Aircraft.builder().id(existing.getId() + 1_000_000).model("Fresh").build());
+
+        SQLException e = assertThrows(SQLException.class, () -> BatchExecutor.execute(
+                "INSERT INTO aircraft(id, model) VALUES (?, ?) ON CONFLICT DO NOTHING", aircraftList,
+                (preparedStatement, aircraft) -> {
+                    preparedStatement.setInt(1, aircraft.getId());
+                    preparedStatement.setString(2, aircraft.getModel());
+                },
+                (aircraft, generatedKeys) -> aircraft.setId(generatedKeys.getInt("id"))));
+
+        assertTrue(e.getMessage().startsWith("Missing generated key"));
+        assertTrue(AircraftDao.getInstance().findById(existing.getId() + 1_000_000).isEmpty());
+    }
+
+    @Test
+    void singleTransactionModeRollsBackEveryChunk() {
+        int aircraftId = newAircraft();
+
+        assertThrows(DaoException.class,
+                () -> SeatDao.getINSTANCE().createAll(seatsFailingInSecondChunk(aircraftId), BatchMode.SINGLE_TRANSACTION));
+
+        assertEquals(0, SeatDao.getINSTANCE().findSeatNosByAircraftId(aircraftId).size());
+    }
+
+    @Test
+    void chunkedTransactionModeKeepsCommittedChunks() {
+        int aircraftId = newAircraft();
+
+        assertThrows(DaoException.class,
+                () -> SeatDao.getINSTANCE().createAll(seatsFailingInSecondChunk(aircraftId), BatchMode.CHUNKED_TRANSACTION));
+
+        assertEquals(BATCH_SIZE, SeatDao.getINSTANCE().findSeatNosByAircraftId(aircraftId).size());
+    }
+
+    private static int newAircraft() {
+        return AircraftDao.getInstance().create(Aircraft.builder().model("Batch").build()).getId();
+    }
+
+    private static List<Seat> seatsFailingInSecondChunk(int aircraftId) {
+        List<Seat> seats = new ArrayList<>();
+        for (int i = 1; i <= BATCH_SIZE; i++) {
+            seats.add(Seat.builder().aircraftId(aircraftId).seatNo(Integer.toString(i)).build());
+        }
+        seats.add(Seat.builder().aircraftId(aircraftId).seatNo("1").build());
+        return seats;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.Aircraft;
+import com.example.jdbc.project.entity.AircraftMapping;
+import com.example.jdbc.project.entity.Airport;
+import com.example.jdbc.project.entity.AirportMapping;
+import com.example.jdbc.project.event.ChangeFeed;
+import com.example.jdbc.project.util.TestDatabase;
+import com.example.jdbc.project.util.TransactionManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingDaoTest {
+    private static final long TIMEOUT_MILLIS = 10_000L;
+    private final CachingDao<Integer, Aircraft, AircraftMapping.Field> cachingDao = new CachingDao<>(AircraftDao.getInstance(),
+            Aircraft::getId, Aircraft::copy, 100, 60_000L);
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @Test
+    void rolledBackCreateIsNotCached() {
+        Aircraft aircraft = Aircraft.builder().model("CD rolled back").build();
+
+        assertThrows(IllegalStateException.class, () -> TransactionManager.inTransaction(() -> {
+            cachingDao.create(aircraft);
+            assertEquals("CD rolled back", cachingDao.findById(aircraft.getId()).orElseThrow().getModel());
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertFalse(cachingDao.findById(aircraft.getId()).isPresent());
+        assertEquals(0, cachingDao.getStats().getSize());
+    }
+
+    @Test
+    void updateCommittedInTransactionIsVisibleAfterCommit() {
+        Aircraft aircraft = cachingDao.create(Aircraft.builder().model("CD before").build());
+        cachingDao.findById(aircraft.getId());
+
+        TransactionManager.inTransaction(() -> {
+            cachingDao.update(Aircraft.builder().id(aircraft.getId()).model("CD after").build());
+            return cachingDao.findById(aircraft.getId());
+        });
+
+        assertEquals("CD after", cachingDao.findById(aircraft.getId()).orElseThrow().getModel());
+    }
+
+    @Test
+    void patchInvalidatesCachedEntity() {
+        Aircraft aircraft = cachingDao.create(Aircraft.builder().model("CD unpatched").build());
+        cachingDao.findById(aircraft.getId());
+
+        assertTrue(cachingDao.patch(Aircraft.builder().id(aircraft.getId()).model("CD patched").build(),
+                EnumSet.of(AircraftMapping.Field.MODEL)));
+        assertEquals("CD patched", cachingDao.findById(aircraft.getId()).orElseThrow().getModel());
+
+        cachingDao.patchAll(List.of(Aircraft.builder().id(aircraft.getId()).model("CD patched twice").build()),
+                EnumSet.of(AircraftMapping.Field.MODEL));
+        assertEquals("CD patched twice", cachingDao.findById(aircraft.getId()).orElseThrow().getModel());
+    }
+
+    @Test
+    void externalWritesInvalidateTheSharedCache() throws InterruptedException {
+        CachingDao<String, Airport, AirportMapping.Field> airports = AirportDao.getCachedInstance();
+        assertTrue(eventually(() -> ChangeFeed.getInstance().isConnected()));
+        String city = airports.findById("BSL").orElseThrow().getCity();
+        try {
+            TestDatabase.execute("UPDATE airport SET city = 'CD city' WHERE code = 'BSL'");
+
+            assertTrue(eventually(() -> "CD city".equals(airports.findById("BSL").orElseThrow().getCity())));
+        } finally {
+            TestDatabase.execute("UPDATE airport SET city = '" + city + "' WHERE code = 'BSL'");
+        }
+    }
+
+    @Test
+    void callersCannotMutateCachedEntities() {
+        Aircraft aircraft = cachingDao.create(Aircraft.builder().model("CD original").build());
+        aircraft.setModel("CD changed by creator");
+        cachingDao.findById(aircraft.getId()).orElseThrow().setModel("CD changed by reader");
+
+        assertEquals("CD original", cachingDao.findById(aircraft.getId()).orElseThrow().getModel());
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(20);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.dto.FlightFilter;
+import com.example.jdbc.project.dto.Page;
+import com.example.jdbc.project.dto.TicketFilter;
+import com.example.jdbc.project.entity.Flight;
+import com.example.jdbc.project.util.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FindPageTest {
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @Test
+    void nonPositiveLimitsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> TicketDao.getInstance().findPage(TicketFilter.builder().limit(0).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> FlightDao.getInstance().findPage(FlightFilter.builder().limit(-1).build()));
+    }
+
+    @Test
+    void pageEndsAtLimitAndPointsAtTheNextOne() {
+        Page<Flight> first = FlightDao.getInstance().findPage(FlightFilter.builder().limit(1).build());
+        assertEquals(1, first.getItems().size());
+        assertTrue(first.hasNext());
+        assertEquals(first.getItems().get(0).getId(), first.getNextCursor());
+
+        Page<Flight> second = FlightDao.getInstance().findPage(FlightFilter.builder().limit(1).afterId(first.getNextCursor()).build());
+        assertTrue(second.getItems().get(0).getId() > first.getNextCursor());
+    }
+}
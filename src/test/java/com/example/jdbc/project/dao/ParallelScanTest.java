@@ -0,0 +1,57 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.Ticket;
+import com.example.jdbc.project.util.ConnectionManager;
+import com.example.jdbc.project.util.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelScanTest {
+    private static long ticketCount;
+
+    @BeforeAll
+    static void createTickets() {
+        System.setProperty("dao.scan.chunk.size", "50");
+        TestDatabase.start();
+        long flightId = TestDatabase.newFlight();
+        TestDatabase.execute("INSERT INTO ticket(passenger_no, passenger_name, flight_id, seat_no, cost) " +
+                "SELECT 'P' || g, 'Passenger', " + flightId + ", 'Q' || g, 1 FROM generate_series(1, 999) g");
+        ticketCount = TestDatabase.queryForLong("SELECT count(*) FROM ticket");
+    }
+
+    @Test
+    void parallelStreamStaysWithinScanParallelism() {
+        AtomicInteger maxActive = new AtomicInteger();
+        LongAdder rows = new LongAdder();
+
+        TicketDao.getInstance().parallelStreamAll().forEach(observe(maxActive, rows));
+
+        assertEquals(ticketCount, rows.sum());
+        assertTrue(maxActive.get() <= ParallelScan.parallelism(), "active connections " + maxActive.get());
+    }
+
+    @Test
+    void forEachParallelStaysWithinScanParallelism() {
+        AtomicInteger maxActive = new AtomicInteger();
+        LongAdder rows = new LongAdder();
+
+        TicketDao.getInstance().forEachParallel(observe(maxActive, rows));
+
+        assertEquals(ticketCount, rows.sum());
+        assertTrue(maxActive.get() <= ParallelScan.parallelism(), "active connections " + maxActive.get());
+    }
+
+    private static Consumer<Ticket> observe(AtomicInteger maxActive, LongAdder rows) {
+        return ticket -> {
+            rows.increment();
+            maxActive.accumulateAndGet(ConnectionManager.getPool().getActiveConnections(), Math::max);
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.Seat;
+import com.example.jdbc.project.util.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatDaoTest {
+    private static final int AIRCRAFT_ID = 3;
+    private final SeatDao seatDao = SeatDao.getINSTANCE();
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @Test
+    void updateSeatNoRenamesOnlyTheGivenSeat() {
+        Seat seat = seatDao.create(seat("Y1"));
+        seatDao.create(seat("Y2"));
+
+        assertTrue(seatDao.updateSeatNo(seat, "Y3"));
+
+        assertEquals("Y3", seat.getSeatNo());
+        assertTrue(seatDao.findById(seat("Y3")).isPresent());
+        assertTrue(seatDao.findById(seat("Y2")).isPresent());
+        assertFalse(seatDao.findById(seat("Y1")).isPresent());
+        assertFalse(seatDao.updateSeatNo(seat("Y1"), "Y4"));
+    }
+
+    @Test
+    void updateSeatNosRenamesEachSeatFromItsOwnKey() {
+        seatDao.createAll(List.of(seat("Z1"), seat("Z2")));
+        Map<Seat, String> newSeatNos = new LinkedHashMap<>();
+        newSeatNos.put(seat("Z1"), "Z3");
+        newSeatNos.put(seat("Z2"), "Z4");
+
+        assertEquals(2, seatDao.updateSeatNos(newSeatNos));
+
+        assertTrue(seatDao.findById(seat("Z3")).isPresent());
+        assertTrue(seatDao.findById(seat("Z4")).isPresent());
+        assertFalse(seatDao.findById(seat("Z1")).isPresent());
+    }
+
+    private static Seat seat(String seatNo) {
+        return Seat.builder()
+                .aircraftId(AIRCRAFT_ID)
+                .seatNo(seatNo)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.util.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketColumnsTest {
+    private static final int CHUNK_SIZE = 16;
+    private static long flightId;
+    private static long returnFlightId;
+
+    @BeforeAll
+    static void createTickets() {
+        TestDatabase.start();
+        flightId = TestDatabase.queryForLong("INSERT INTO flight(flight_no, departure_date, departure_airport_code, " +
+                "arrival_date, arrival_airport_code, aircraft_id, status) VALUES ('TS0007', '2030-01-02 10:00', 'MNK', " +
+                "'2030-01-02 12:00', 'LDN', 1, 'SCHEDULED') RETURNING id");
+        returnFlightId = TestDatabase.queryForLong("INSERT INTO flight(flight_no, departure_date, departure_airport_code, " +
+                "arrival_date, arrival_airport_code, aircraft_id, status) VALUES ('TS0008', '2030-01-03 10:00', 'LDN', " +
+                "'2030-01-03 12:00', 'MNK', 1, 'SCHEDULED') RETURNING id");
+        TestDatabase.execute("INSERT INTO ticket(passenger_no, passenger_name, flight_id, seat_no, cost) " +
+                "SELECT 'C' || g, 'Passenger ' || g, " + flightId + ", 'S' || g, 1 FROM generate_series(1, 200) g");
+        TestDatabase.execute("INSERT INTO ticket(passenger_no, passenger_name, flight_id, seat_no, cost) " +
+                "SELECT 'R' || g, 'Passenger ' || g, " + returnFlightId + ", 'S' || g, 1 FROM generate_series(1, 200) g");
+    }
+
+    @Test
+    void passengerDictionariesAreBoundedByChunkSize() {
+        AtomicInteger maxPassengerCodes = new AtomicInteger();
+        Set<String> passengerNos = new HashSet<>();
+        LongAdder rows = new LongAdder();
+
+        TicketDao.getInstance().forEachColumns(CHUNK_SIZE, columns -> {
+            maxPassengerCodes.accumulateAndGet(Math.max(columns.getPassengerNoDictionary().size(),
+                    columns.getPassengerNameDictionary().size()), Math::max);
+            columns.forEachRow(row -> {
+                rows.increment();
+                if (row.getFlightId() == flightId) {
+                    assertEquals("Passenger " + row.getPassengerNo().substring(1), row.getPassengerName());
+                    passengerNos.add(row.getPassengerNo());
+                }
+            });
+        });
+
+        assertEquals(TestDatabase.queryForLong("SELECT count(*) FROM ticket"), rows.sum());
+        assertEquals(200, passengerNos.size());
+        assertTrue(maxPassengerCodes.get() <= CHUNK_SIZE, "passenger codes " + maxPassengerCodes.get());
+    }
+
+    @Test
+    void seatNoDictionaryIsSharedAcrossChunks() {
+        Map<String, Integer> seatCodes = new HashMap<>();
+
+        TicketDao.getInstance().forEachColumns(CHUNK_SIZE, columns -> {
+            for (int i = 0; i < columns.size(); i++) {
+                TicketColumns.Row row = columns.row(i);
+                if (row.getFlightId() == flightId || row.getFlightId() == returnFlightId) {
+                    Integer code = seatCodes.putIfAbsent(row.getSeatNo(), columns.getSeatNoCodes()[i]);
+                    assertTrue(code == null || code == columns.getSeatNoCodes()[i], "seat " + row.getSeatNo());
+                }
+            }
+        });
+
+        assertEquals(200, seatCodes.size());
+        assertEquals(200, new HashSet<>(seatCodes.values()).size());
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.SeatHold;
+import com.example.jdbc.project.entity.Ticket;
+import com.example.jdbc.project.util.TestDatabase;
+import com.example.jdbc.project.util.TransactionManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketDaoBookingTest {
+    private static final int SEATS_PER_AIRCRAFT = 8;
+    private final TicketDao ticketDao = TicketDao.getInstance();
+    private final SeatHoldDao seatHoldDao = SeatHoldDao.getInstance();
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @Test
+    void confirmKeepsHoldWhenTicketInsertConflicts() {
+        Long flightId = TestDatabase.newFlight(1);
+        SeatHold seatHold = seatHoldDao.hold(flightId, "A1", Duration.ofMinutes(5)).orElseThrow();
+        TestDatabase.execute("INSERT INTO ticket(passenger_no, passenger_name, flight_id, seat_no, cost) " +
+                "VALUES ('X', 'Intruder', " + flightId + ", 'A1', 1)");
+
+        assertFalse(ticketDao.createFromHold(seatHold.getToken(), TestDatabase.ticket(flightId, null)).isPresent());
+        assertEquals(1, TestDatabase.queryForLong("SELECT count(*) FROM seat_hold WHERE flight_id = " + flightId));
+    }
+
+    @Test
+    void confirmConsumesHold() {
+        Long flightId = TestDatabase.newFlight(1);
+        SeatHold seatHold = seatHoldDao.hold(flightId, "B2", Duration.ofMinutes(5)).orElseThrow();
+
+        Ticket ticket = ticketDao.createFromHold(seatHold.getToken(), TestDatabase.ticket(flightId, null)).orElseThrow();
+
+        assertEquals("B2", ticket.getSeatNo());
+        assertEquals(0, TestDatabase.queryForLong("SELECT count(*) FROM seat_hold WHERE flight_id = " + flightId));
+        assertFalse(ticketDao.createFromHold(seatHold.getToken(), TestDatabase.ticket(flightId, null)).isPresent());
+    }
+
+    @Test
+    void heldSeatCannotBeBooked() {
+        Long flightId = TestDatabase.newFlight(1);
+        seatHoldDao.hold(flightId, "C1", Duration.ofMinutes(5)).orElseThrow();
+
+        assertFalse(ticketDao.createIfSeatFree(TestDatabase.ticket(flightId, "C1")).isPresent());
+        assertEquals(0, TestDatabase.queryForLong("SELECT count(*) FROM ticket WHERE flight_id = " + flightId));
+    }
+
+    @Test
+    void bulkInsertsDoNotCheckHolds() {
+        Long flightId = TestDatabase.newFlight(1);
+        seatHoldDao.hold(flightId, "C1", Duration.ofMinutes(5)).orElseThrow();
+
+        ticketDao.createAll(List.of(TestDatabase.ticket(flightId, "C1"), TestDatabase.ticket(flightId, "C2")));
+
+        assertEquals(2, TestDatabase.queryForLong("SELECT count(*) FROM ticket WHERE flight_id = " + flightId));
+    }
+
+    @Test
+    void heldSeatCheckRollsBackOnlyToSavepointInsideTransaction() {
+        Long flightId = TestDatabase.newFlight(1);
+        seatHoldDao.hold(flightId, "C2", Duration.ofMinutes(5)).orElseThrow();
+
+        Optional<Ticket> other = TransactionManager.inTransaction(() -> {
+            assertFalse(ticketDao.createIfSeatFree(TestDatabase.ticket(flightId, "C2")).isPresent());
+            return ticketDao.createIfSeatFree(TestDatabase.ticket(flightId, "D1"));
+        });
+
+        assertTrue(other.isPresent());
+        assertEquals(1, TestDatabase.queryForLong("SELECT count(*) FROM ticket WHERE flight_id = " + flightId));
+    }
+
+    @Test
+    void soldSeatCannotBeHeld() {
+        Long flightId = TestDatabase.newFlight(1);
+        ticketDao.createIfSeatFree(TestDatabase.ticket(flightId, "D2")).orElseThrow();
+
+        assertFalse(seatHoldDao.hold(flightId, "D2", Duration.ofMinutes(5)).isPresent());
+    }
+
+    @Test
+    void concurrentHoldAndBookNeverBothSucceed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 20; i++) {
+                Long flightId = TestDatabase.newFlight(1);
+                CyclicBarrier barrier = new CyclicBarrier(2);
+                CompletableFuture<Boolean> held = CompletableFuture.supplyAsync(() -> {
+                    await(barrier);
+                    return seatHoldDao.hold(flightId, "A2", Duration.ofMinutes(5)).isPresent();
+                }, executor);
+                CompletableFuture<Boolean> booked = CompletableFuture.supplyAsync(() -> {
+                    await(barrier);
+                    return ticketDao.createIfSeatFree(TestDatabase.ticket(flightId, "A2")).isPresent();
+                }, executor);
+                assertTrue(held.get() ^ booked.get(), "exactly one of hold and booking must win");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void anySeatBookingsOnFlightsSharingAnAircraftDoNotBlockEachOther() throws Exception {
+        Long first = TestDatabase.newFlight(2);
+        Long second = TestDatabase.newFlight(2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<Optional<Ticket>>> bookings = new ArrayList<>();
+            for (int i = 0; i < SEATS_PER_AIRCRAFT; i++) {
+                for (Long flightId : List.of(first, second)) {
+                    bookings.add(CompletableFuture.supplyAsync(() -> ticketDao.createOnAnyFreeSeat(TestDatabase.ticket(flightId, null)), executor));
+                }
+            }
+            for (CompletableFuture<Optional<Ticket>> booking : bookings) {
+                assertTrue(booking.get().isPresent(), "a free seat existed for every booking");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse(ticketDao.createOnAnyFreeSeat(TestDatabase.ticket(first, null)).isPresent());
+        assertEquals(SEATS_PER_AIRCRAFT, TestDatabase.queryForLong(
+                "SELECT count(DISTINCT seat_no) FROM ticket WHERE flight_id = " + second));
+    }
+
+    @Test
+    void concurrentAnySeatBookingsOnOneFlightFillIt() throws Exception {
+        Long flightId = TestDatabase.newFlight(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(4);
+            List<CompletableFuture<Void>> bookings = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                bookings.add(CompletableFuture.runAsync(() -> {
+                    await(barrier);
+                    for (int j = 0; j < SEATS_PER_AIRCRAFT / 4; j++) {
+                        assertTrue(ticketDao.createOnAnyFreeSeat(TestDatabase.ticket(flightId, null)).isPresent());
+                    }
+                }, executor));
+            }
+            for (CompletableFuture<Void> booking : bookings) {
+                booking.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(SEATS_PER_AIRCRAFT, TestDatabase.queryForLong(
+                "SELECT count(DISTINCT seat_no) FROM ticket WHERE flight_id = " + flightId));
+    }
+
+    @Test
+    void anySeatBookingSkipsHeldSeats() {
+        Long flightId = TestDatabase.newFlight(1);
+        seatHoldDao.hold(flightId, "A1", Duration.ofMinutes(5)).orElseThrow();
+
+        assertEquals("A2", ticketDao.createOnAnyFreeSeat(TestDatabase.ticket(flightId, null)).orElseThrow().getSeatNo());
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.Ticket;
+import com.example.jdbc.project.exception.DaoException;
+import com.example.jdbc.project.metrics.Metrics;
+import com.example.jdbc.project.metrics.MetricsListener;
+import com.example.jdbc.project.util.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class TicketWriterTest {
+    private static Long flightId;
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+        flightId = TestDatabase.newFlight();
+    }
+
+    @Test
+    void writesAreGroupCommitted() throws Exception {
+        try (TicketWriter writer = new TicketWriter(100, 16, 5)) {
+            Ticket ticket = writer.write(TestDatabase.ticket(flightId, "W1")).get(10, TimeUnit.SECONDS);
+            assertNotNull(ticket.getId());
+        }
+    }
+
+    @Test
+    void errorsFailTheGroupWithoutStoppingTheFlusher() throws Exception {
+        MetricsListener listener = new MetricsListener() {
+            @Override
+            public void onQuery(String sql, long nanos, boolean failed) {
+                if (Thread.currentThread().getName().equals("ticket-writer")) {
+                    throw new AssertionError("flusher error");
+                }
+            }
+        };
+        try (TicketWriter writer = new TicketWriter(100, 16, 5)) {
+            Metrics.addListener(listener);
+            try {
+                CompletableFuture<Ticket> failed = writer.write(TestDatabase.ticket(flightId, "W2"));
+                ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+                assertInstanceOf(AssertionError.class, e.getCause().getCause());
+            } finally {
+                Metrics.removeListener(listener);
+            }
+            assertNotNull(writer.write(TestDatabase.ticket(flightId, "W3")).get(10, TimeUnit.SECONDS).getId());
+        }
+    }
+
+    @Test
+    void everyWriteCompletesWhenClosedConcurrently() throws Exception {
+        AtomicInteger seat = new AtomicInteger();
+        for (int round = 0; round < 20; round++) {
+            TicketWriter writer = new TicketWriter(10_000, 64, 1);
+            Queue<CompletableFuture<Ticket>> futures = new ConcurrentLinkedQueue<>();
+            CountDownLatch started = new CountDownLatch(4);
+            List<Thread> writers = List.of(new Thread(() -> writeUntilClosed(writer, futures, seat, started)),
+                    new Thread(() -> writeUntilClosed(writer, futures, seat, started)),
+                    new Thread(() -> writeUntilClosed(writer, futures, seat, started)),
+                    new Thread(() -> writeUntilClosed(writer, futures, seat, started)));
+            writers.forEach(Thread::start);
+            started.await();
+            writer.close();
+            for (Thread thread : writers) {
+                thread.join();
+            }
+            for (CompletableFuture<Ticket> future : futures) {
+                try {
+                    future.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertInstanceOf(DaoException.class, e.getCause());
+                } catch (TimeoutException e) {
+                    fail("a write accepted around close never completed");
+                }
+            }
+            assertEquals(0, writer.getPendingCount());
+        }
+    }
+
+    private static void writeUntilClosed(TicketWriter writer, Queue<CompletableFuture<Ticket>> futures,
+                                         AtomicInteger seat, CountDownLatch started) {
+        started.countDown();
+        while (true) {
+            CompletableFuture<Ticket> future = writer.write(TestDatabase.ticket(flightId, "X" + seat.incrementAndGet()));
+            futures.add(future);
+            if (future.isCompletedExceptionally()) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.jdbc.project.dao;
+
+import com.example.jdbc.project.entity.Ticket;
+import com.example.jdbc.project.exception.DaoException;
+import com.example.jdbc.project.util.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpsertTest {
+    private final TicketDao ticketDao = TicketDao.getInstance();
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @Test
+    void upsertWithExplicitIdAdvancesSequence() {
+        Long flightId = TestDatabase.newFlight();
+        long explicitId = TestDatabase.queryForLong("SELECT COALESCE(MAX(id), 0) FROM ticket") + 1_000;
+
+        ticketDao.upsert(ticket(explicitId, flightId, "A1"));
+        Ticket created = ticketDao.create(ticket(null, flightId, "A2"));
+
+        assertTrue(created.getId() > explicitId);
+    }
+
+    @Test
+    void upsertUpdatesExistingRow() {
+        Long flightId = TestDatabase.newFlight();
+        Ticket ticket = ticketDao.create(ticket(null, flightId, "B1"));
+        ticket.setPassengerName("Renamed");
+
+        ticketDao.upsert(ticket);
+
+        assertEquals("Renamed", ticketDao.findById(ticket.getId()).orElseThrow().getPassengerName());
+    }
+
+    @Test
+    void upsertAllCreatesAfterExplicitIdsWithoutCollisions() {
+        Long flightId = TestDatabase.newFlight();
+        long explicitId = TestDatabase.queryForLong("SELECT COALESCE(MAX(id), 0) FROM ticket") + 1;
+        Ticket fresh = ticket(null, flightId, "C2");
+
+        int updated = ticketDao.upsertAll(List.of(fresh, ticket(explicitId, flightId, "C1")));
+
+        assertEquals(2, updated);
+        assertNotNull(fresh.getId());
+        assertTrue(fresh.getId() > explicitId);
+        assertEquals(2, TestDatabase.queryForLong("SELECT count(*) FROM ticket WHERE flight_id = " + flightId));
+    }
+
+    @Test
+    void upsertAllRunsInOneTransaction() {
+        Long flightId = TestDatabase.newFlight();
+        long explicitId = TestDatabase.queryForLong("SELECT COALESCE(MAX(id), 0) FROM ticket") + 1;
+
+        assertThrows(DaoException.class, () -> ticketDao.upsertAll(List.of(
+                ticket(explicitId, flightId, "D1"),
+                ticket(null, flightId, "D2"),
+                ticket(null, flightId, "D2"))));
+
+        assertEquals(0, TestDatabase.queryForLong("SELECT count(*) FROM ticket WHERE flight_id = " + flightId));
+    }
+
+    private static Ticket ticket(Long id, Long flightId, String seatNo) {
+        Ticket ticket = TestDatabase.ticket(flightId, seatNo);
+        ticket.setId(id);
+        return ticket;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.jdbc.project.event;
+
+import com.example.jdbc.project.util.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedTest {
+    private static final long TIMEOUT_SECONDS = 10;
+    private final BlockingQueue<TicketChangeEvent> ticketEvents = new LinkedBlockingQueue<>();
+    private final BlockingQueue<FlightChangeEvent> flightEvents = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ReferenceChangeEvent> referenceEvents = new LinkedBlockingQueue<>();
+    private final ChangeListener listener = new ChangeListener() {
+        @Override
+        public void onTicketChange(TicketChangeEvent event) {
+            ticketEvents.add(event);
+        }
+
+        @Override
+        public void onFlightChange(FlightChangeEvent event) {
+            flightEvents.add(event);
+        }
+
+        @Override
+        public void onReferenceChange(ReferenceChangeEvent event) {
+            referenceEvents.add(event);
+        }
+    };
+
+    @BeforeAll
+    static void startDatabase() throws InterruptedException {
+        TestDatabase.start();
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (!ChangeFeed.getInstance().isConnected() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(ChangeFeed.getInstance().isConnected());
+    }
+
+    @BeforeEach
+    void subscribe() {
+        ChangeFeed.getInstance().subscribe(listener);
+    }
+
+    @AfterEach
+    void unsubscribe() {
+        ChangeFeed.getInstance().unsubscribe(listener);
+    }
+
+    @Test
+    void smallStatementsNotifyPerRow() throws InterruptedException {
+        long flightId = TestDatabase.newFlight();
+        TestDatabase.execute("INSERT INTO ticket(passenger_no, passenger_name, flight_id, seat_no, cost) VALUES " +
+                "('P1', 'One', " + flightId + ", 'A1', 1), ('P2', 'Two', " + flightId + ", 'A2', 1)");
+
+        assertEquals(ChangeOperation.INSERT, nextTicketEvent(flightId).getOperation());
+        assertEquals(ChangeOperation.INSERT, nextTicketEvent(flightId).getOperation());
+    }
+
+    @Test
+    void bulkStatementsSendOneRefreshPerFlight() throws InterruptedException {
+        long flightId = TestDatabase.newFlight();
+        TestDatabase.execute("INSERT INTO ticket(passenger_no, passenger_name, flight_id, seat_no, cost) " +
+                "SELECT 'P' || g, 'Passenger', " + flightId + ", 'S' || g, 1 FROM generate_series(1, 500) g");
+        TestDatabase.execute("INSERT INTO ticket(passenger_no, passenger_name, flight_id, seat_no, cost) VALUES " +
+                "('P0', 'Marker', " + flightId + ", 'M1', 1)");
+
+        TicketChangeEvent refresh = nextTicketEvent(flightId);
+        assertEquals(ChangeOperation.REFRESH, refresh.getOperation());
+        assertNull(refresh.getId());
+        assertEquals("M1", nextTicketEvent(flightId).getSeatNo());
+
+        TestDatabase.execute("INSERT INTO flight(flight_no, departure_date, departure_airport_code, arrival_date, " +
+                "arrival_airport_code, aircraft_id, status) SELECT 'TS' || g, '2030-01-01 10:00', 'MNK', " +
+                "'2030-01-01 12:00', 'LDN', 1, 'SCHEDULED' FROM generate_series(1, 500) g");
+        assertNull(nextFlightEvent(ChangeOperation.REFRESH).getId());
+    }
+
+    @Test
+    void referenceStatementsNotifyOncePerKey() throws InterruptedException {
+        long aircraftId = TestDatabase.queryForLong("INSERT INTO aircraft(model) VALUES ('CF seats') RETURNING id");
+        ReferenceChangeEvent insert = nextReferenceEvent("aircraft");
+        assertEquals(String.valueOf(aircraftId), insert.getKey());
+
+        TestDatabase.execute("INSERT INTO seat(aircraft_id, seat_no) " +
+                "SELECT " + aircraftId + ", 'Z' || g FROM generate_series(1, 150) g");
+        ReferenceChangeEvent seats = nextReferenceEvent("seat");
+        assertEquals(ChangeOperation.INSERT, seats.getOperation());
+        assertEquals(String.valueOf(aircraftId), seats.getKey());
+
+        TestDatabase.execute("INSERT INTO aircraft(model) SELECT 'CF bulk ' || g FROM generate_series(1, 150) g");
+        ReferenceChangeEvent refresh = nextReferenceEvent("aircraft");
+        assertEquals(ChangeOperation.REFRESH, refresh.getOperation());
+        assertNull(refresh.getKey());
+        assertNull(referenceEvents.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void malformedNotificationDoesNotStopTheFeed() throws InterruptedException {
+        TestDatabase.execute("SELECT pg_notify('" + ChangeFeed.TICKET_CHANNEL + "', '{\"id\": 1}'), " +
+                "pg_notify('" + ChangeFeed.TICKET_CHANNEL + "', '{\"op\": \"INSERT\", \"id\": \"x\"}'), " +
+                "pg_notify('" + ChangeFeed.TICKET_CHANNEL + "', 'not json')");
+        long flightId = TestDatabase.newFlight();
+        TestDatabase.execute("INSERT INTO ticket(passenger_no, passenger_name, flight_id, seat_no, cost) VALUES " +
+                "('P1', 'One', " + flightId + ", 'B1', 1)");
+
+        assertEquals("B1", nextTicketEvent(flightId).getSeatNo());
+        assertTrue(ChangeFeed.getInstance().isConnected());
+    }
+
+    private TicketChangeEvent nextTicketEvent(long flightId) throws InterruptedException {
+        while (true) {
+            TicketChangeEvent event = ticketEvents.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(event, "ticket event for flight " + flightId);
+            if (event.getFlightId() != null && event.getFlightId() == flightId) {
+                return event;
+            }
+        }
+    }
+
+    private ReferenceChangeEvent nextReferenceEvent(String table) throws InterruptedException {
+        while (true) {
+            ReferenceChangeEvent event = referenceEvents.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(event, table + " reference event");
+            if (table.equals(event.getTable())) {
+                return event;
+            }
+        }
+    }
+
+    private FlightChangeEvent nextFlightEvent(ChangeOperation operation) throws InterruptedException {
+        while (true) {
+            FlightChangeEvent event = flightEvents.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(event, operation + " flight event");
+            if (event.getOperation() == operation) {
+                return event;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.jdbc.project.metrics;
+
+import com.example.jdbc.project.util.ConnectionManager;
+import com.example.jdbc.project.util.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @Test
+    void literalsAndParameterListsAreNormalized() {
+        assertEquals("SELECT * FROM ticket WHERE id IN (?, ...) AND passenger_name = ? LIMIT ?",
+                Metrics.normalize("SELECT * FROM ticket WHERE id IN (?, ?, ?) AND passenger_name = 'O''Brien' LIMIT 10"));
+        assertEquals(Metrics.normalize("SELECT * FROM flight WHERE id IN (?, ?)"),
+                Metrics.normalize("SELECT * FROM flight WHERE id IN (?, ?, ?, ?, ?)"));
+    }
+
+    @Test
+    void distinctLiteralQueriesShareOneEntry() {
+        for (int i = 0; i < 5_000; i++) {
+            Metrics.recordQuery("SELECT * FROM airport WHERE code = 'X" + i + "'", 1_000L, false);
+        }
+        Optional<QueryMetrics> metrics = find("SELECT * FROM airport WHERE code = ?");
+        assertTrue(metrics.isPresent());
+        assertEquals(5_000, metrics.get().getExecutionTime().getCount());
+    }
+
+    @Test
+    void rowsAreCountedWhenTheResultSetCloses() throws SQLException {
+        String sql = "SELECT generate_series(?, ?) AS rows_metric";
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setInt(1, 1);
+            preparedStatement.setInt(2, 25);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    assertEquals(0, find(sql).orElseThrow().getRows());
+                }
+            }
+        }
+        assertEquals(25, find(sql).orElseThrow().getRows());
+    }
+
+    @Test
+    void throwingListenersDoNotBreakQueries() throws SQLException {
+        MetricsListener listener = new MetricsListener() {
+            @Override
+            public void onConnectionAcquired(String pool, long nanos) {
+                throw new IllegalStateException("acquired");
+            }
+
+            @Override
+            public void onQuery(String sql, long nanos, boolean failed) {
+                throw new IllegalStateException("query");
+            }
+        };
+        Metrics.addListener(listener);
+        try (Connection connection = ConnectionManager.getConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT 42 AS listener_metric");
+                 ResultSet resultSet = preparedStatement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertEquals(42, resultSet.getInt(1));
+            }
+            try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT * FROM missing_listener_table")) {
+                assertThrows(SQLException.class, preparedStatement::executeQuery);
+            }
+        } finally {
+            Metrics.removeListener(listener);
+        }
+        assertEquals(1, find("SELECT 42 AS listener_metric").orElseThrow().getExecutionTime().getCount());
+    }
+
+    private static Optional<QueryMetrics> find(String sql) {
+        String key = Metrics.normalize(sql);
+        return Metrics.getQueryMetrics().stream()
+                .filter(metrics -> metrics.getSql().equals(key))
+                .findFirst();
+    }
+}
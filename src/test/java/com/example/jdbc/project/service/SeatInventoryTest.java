@@ -0,0 +1,54 @@
+package com.example.jdbc.project.service;
+
+import com.example.jdbc.project.dao.TicketDao;
+import com.example.jdbc.project.entity.Ticket;
+import com.example.jdbc.project.event.ChangeFeed;
+import com.example.jdbc.project.util.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatInventoryTest {
+    private static final long TIMEOUT_MILLIS = 10_000L;
+    private final SeatInventory seatInventory = SeatInventory.getInstance();
+    private final TicketDao ticketDao = TicketDao.getInstance();
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+        CacheInvalidator.register();
+        SeatInventory.getInstance();
+        assertTrue(eventually(() -> ChangeFeed.getInstance().isConnected()), "change feed connects");
+    }
+
+    @Test
+    void followsTicketWritesMadeOutsideBookingService() {
+        Long flightId = TestDatabase.newFlight();
+        assertTrue(seatInventory.isAvailable(flightId, "A1"));
+
+        Ticket ticket = ticketDao.create(TestDatabase.ticket(flightId, "A1"));
+        assertTrue(eventually(() -> !seatInventory.isAvailable(flightId, "A1")), "insert reaches the inventory");
+
+        ticketDao.delete(ticket.getId());
+        assertTrue(eventually(() -> seatInventory.isAvailable(flightId, "A1")), "delete reaches the inventory");
+    }
+
+    private static boolean eventually(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return condition.getAsBoolean();
+    }
+}
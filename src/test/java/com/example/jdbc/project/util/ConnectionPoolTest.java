@@ -0,0 +1,108 @@
+package com.example.jdbc.project.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPoolTest {
+    private static final long ACQUIRE_TIMEOUT = 200L;
+    private ConnectionPool pool;
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void acquireTimesOutWhenPoolIsExhausted() throws SQLException {
+        pool = newPool("timeout-pool");
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+
+        long start = System.nanoTime();
+        assertThrows(SQLTimeoutException.class, pool::getConnection);
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(waited >= ACQUIRE_TIMEOUT, "waited " + waited + " ms");
+        assertEquals(2, pool.getActiveConnections());
+        assertEquals(1, pool.getAcquireTimeouts());
+        first.close();
+        second.close();
+        assertEquals(0, pool.getActiveConnections());
+    }
+
+    @Test
+    void waitingAcquireSucceedsAfterRelease() throws Exception {
+        pool = newPool("release-pool");
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (pool.getWaitingThreads() == 0) {
+            Thread.onSpinWait();
+        }
+
+        first.close();
+
+        try (Connection third = waiting.get(5, TimeUnit.SECONDS)) {
+            assertFalse(third.isClosed());
+            assertEquals(2, pool.getTotalConnections());
+        }
+        second.close();
+    }
+
+    @Test
+    void releasedConnectionIsReused() throws SQLException {
+        pool = newPool("reuse-pool");
+
+        pool.getConnection().close();
+        pool.getConnection().close();
+
+        assertEquals(1, pool.getTotalConnections());
+        assertEquals(1, pool.getIdleConnections());
+        assertEquals(2, pool.getAcquireCount());
+    }
+
+    @Test
+    void closedPoolRejectsAcquire() {
+        pool = newPool("closed-pool");
+        pool.close();
+
+        assertThrows(SQLException.class, pool::getConnection);
+    }
+
+    private static ConnectionPool newPool(String name) {
+        PoolConfig config = PoolConfig.builder()
+                .minSize(0)
+                .maxSize(2)
+                .acquireTimeoutMillis(ACQUIRE_TIMEOUT)
+                .validationTimeoutSeconds(1)
+                .validationBypassMillis(500L)
+                .housekeepingPeriodMillis(60_000L)
+                .build();
+        return new ConnectionPool(name, TestDatabase.getUrl(), "postgres", "", config);
+    }
+}
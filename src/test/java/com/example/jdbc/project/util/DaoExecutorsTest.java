@@ -0,0 +1,52 @@
+package com.example.jdbc.project.util;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DaoExecutorsTest {
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @Test
+    void virtualThreadSupportMatchesRuntime() throws Exception {
+        boolean expected = Runtime.version().feature() >= 21;
+        assertEquals(expected, DaoExecutors.isVirtualThreadSupported());
+        if (expected) {
+            ExecutorService executor = DaoExecutors.newVirtualThreadExecutor();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        } else {
+            assertThrows(IllegalStateException.class, DaoExecutors::newVirtualThreadExecutor);
+        }
+    }
+
+    @Test
+    void configuredExecutorTypeIsHonouredOrRejected() throws Exception {
+        ExecutorService platform = DaoExecutors.newExecutor("platform", 2);
+        assertEquals(42, platform.submit(() -> 42).get(5, TimeUnit.SECONDS));
+        platform.shutdown();
+        if (DaoExecutors.isVirtualThreadSupported()) {
+            ExecutorService virtual = DaoExecutors.newExecutor("virtual", 2);
+            assertEquals(42, virtual.submit(() -> 42).get(5, TimeUnit.SECONDS));
+            virtual.shutdown();
+        } else {
+            assertThrows(IllegalStateException.class, () -> DaoExecutors.newExecutor("virtual", 2));
+        }
+        assertThrows(IllegalArgumentException.class, () -> DaoExecutors.newExecutor("pooled", 2));
+    }
+
+    @Test
+    void defaultExecutorRunsTasks() throws Exception {
+        assertEquals(42, DaoExecutors.getDefault().submit(() -> 42).get(5, TimeUnit.SECONDS));
+    }
+}
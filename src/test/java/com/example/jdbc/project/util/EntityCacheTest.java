@@ -0,0 +1,79 @@
+package com.example.jdbc.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        EntityCache<Integer, String> cache = new EntityCache<>(2, 0);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.get(1);
+
+        cache.put(3, "three");
+
+        assertTrue(cache.get(1).isPresent());
+        assertFalse(cache.get(2).isPresent());
+        assertTrue(cache.get(3).isPresent());
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getSize());
+    }
+
+    @Test
+    void loadRacingInvalidateIsNotCached() {
+        EntityCache<Integer, String> cache = new EntityCache<>(10, 0);
+
+        Optional<String> loaded = cache.getOrLoad(1, key -> {
+            cache.invalidate(key);
+            return Optional.of("stale");
+        });
+
+        assertEquals(Optional.of("stale"), loaded);
+        assertFalse(cache.get(1).isPresent());
+        assertEquals(Optional.of("fresh"), cache.getOrLoad(1, key -> Optional.of("fresh")));
+        assertEquals(Optional.of("fresh"), cache.get(1));
+    }
+
+    @Test
+    void invalidateOfAnotherKeyKeepsLoad() {
+        EntityCache<Integer, String> cache = new EntityCache<>(10, 0);
+
+        cache.getOrLoad(1, key -> {
+            cache.invalidate(2);
+            return Optional.of("one");
+        });
+
+        assertEquals(Optional.of("one"), cache.get(1));
+    }
+
+    @Test
+    void failedLoadLeavesNoMarker() {
+        EntityCache<Integer, String> cache = new EntityCache<>(10, 0);
+
+        assertThrows(IllegalStateException.class, () -> cache.getOrLoad(1, key -> {
+            throw new IllegalStateException("load failed");
+        }));
+
+        assertEquals(Optional.of("one"), cache.getOrLoad(1, key -> Optional.of("one")));
+        assertEquals(Optional.of("one"), cache.get(1));
+    }
+
+    @Test
+    void bulkLoadRacingInvalidateIsNotCached() {
+        EntityCache<Integer, String> cache = new EntityCache<>(10, 0);
+        long generation = cache.generation();
+
+        cache.invalidate(1);
+        cache.putIfUnchanged(1, "stale", generation);
+
+        assertFalse(cache.get(1).isPresent());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.jdbc.project.util;
+
+import com.example.jdbc.project.metrics.Metrics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PooledConnectionHandleTest {
+    private static ConnectionPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ConnectionPool("handle-test", TestDatabase.getUrl(), "postgres", "", PoolConfig.builder()
+                .minSize(1)
+                .maxSize(1)
+                .acquireTimeoutMillis(1_000L)
+                .idleTimeoutMillis(60_000L)
+                .maxLifetimeMillis(60_000L)
+                .validationTimeoutSeconds(1)
+                .validationBypassMillis(500L)
+                .housekeepingPeriodMillis(60_000L)
+                .statementCacheSize(4)
+                .build());
+    }
+
+    @AfterAll
+    static void closePool() {
+        pool.close();
+    }
+
+    @Test
+    void closedStatementsAreNoLongerTracked() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            PooledConnectionHandle handle = (PooledConnectionHandle) connection;
+            for (int i = 0; i < 1_000; i++) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT " + (i % 8));
+                     Statement statement = connection.createStatement();
+                     CallableStatement callableStatement = connection.prepareCall("SELECT 1")) {
+                    assertEquals(3, handle.getOpenStatementCount());
+                }
+            }
+            assertEquals(0, handle.getOpenStatementCount());
+        }
+    }
+
+    @Test
+    void plainAndCallableStatementsDoNotExposeThePhysicalConnection() throws SQLException {
+        Statement statement;
+        CallableStatement callableStatement;
+        try (Connection connection = pool.getConnection()) {
+            statement = connection.createStatement();
+            callableStatement = connection.prepareCall("SELECT 1");
+            assertSame(connection, statement.getConnection());
+            assertSame(connection, callableStatement.getConnection());
+            try (ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+                assertSame(statement, resultSet.getStatement());
+            }
+        }
+        assertTrue(statement.isClosed());
+        assertTrue(callableStatement.isClosed());
+    }
+
+    @Test
+    void plainStatementsAreRecordedInMetrics() throws SQLException {
+        String sql = "SELECT current_user AS plain_statement_metric";
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+        long count = Metrics.getQueryMetrics().stream()
+                .filter(metrics -> metrics.getSql().equals(sql))
+                .mapToLong(metrics -> metrics.getExecutionTime().getCount())
+                .sum();
+        assertEquals(1, count);
+    }
+}
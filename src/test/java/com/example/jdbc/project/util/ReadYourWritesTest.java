@@ -0,0 +1,107 @@
+package com.example.jdbc.project.util;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadYourWritesTest {
+    private static final String REPLICA_DATABASE = "replica_standin";
+    private static final long WINDOW_MILLIS = 300L;
+    private static final String WRITE_SQL = "UPDATE flight SET status = status WHERE id = -1";
+    private static ReplicaRouter replicaRouter;
+
+    @BeforeAll
+    static void startReplicaStandIn() {
+        TestDatabase.start();
+        if (TestDatabase.queryForLong("SELECT count(*) FROM pg_database WHERE datname = '" + REPLICA_DATABASE + "'") == 0) {
+            TestDatabase.execute("CREATE DATABASE " + REPLICA_DATABASE);
+        }
+        ConnectionPool replica = new ConnectionPool("replica-standin",
+                TestDatabase.getUrl().replace("/postgres?", "/" + REPLICA_DATABASE + "?"), "postgres", "",
+                PoolConfig.fromProperties().toBuilder().minSize(0).maxSize(2).failFast(false).build());
+        replicaRouter = new ReplicaRouter(List.of(replica), ReplicaBalancing.ROUND_ROBIN, 1_000L);
+    }
+
+    @BeforeEach
+    void resetWindow() {
+        ConnectionManager.setReplicaRouter(replicaRouter, WINDOW_MILLIS);
+    }
+
+    @AfterAll
+    static void stopReplicaStandIn() {
+        ConnectionManager.setReplicaRouter(null, 0L);
+        replicaRouter.close();
+    }
+
+    @Test
+    void primaryCheckoutWithoutWriteKeepsReadsOnReplica() throws SQLException {
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement("SELECT 1")) {
+            preparedStatement.executeQuery().close();
+        }
+
+        assertEquals(REPLICA_DATABASE, readDatabase());
+    }
+
+    @Test
+    void autoCommitWriteRoutesReadsToPrimaryUntilWindowExpires() throws Exception {
+        write();
+
+        assertEquals("postgres", readDatabase());
+        Thread.sleep(WINDOW_MILLIS + 100);
+        assertEquals(REPLICA_DATABASE, readDatabase());
+    }
+
+    @Test
+    void transactionalWriteOpensWindowOnCommit() throws Exception {
+        try (Connection connection = ConnectionManager.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(WRITE_SQL)) {
+                preparedStatement.executeUpdate();
+            }
+            assertEquals(REPLICA_DATABASE, readDatabase());
+            connection.commit();
+        }
+
+        assertEquals("postgres", readDatabase());
+    }
+
+    @Test
+    void windowIsPerThread() throws Exception {
+        write();
+
+        assertEquals(REPLICA_DATABASE, CompletableFuture.supplyAsync(() -> {
+            try {
+                return readDatabase();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get());
+    }
+
+    private static void write() throws SQLException {
+        try (Connection connection = ConnectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(WRITE_SQL)) {
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    private static String readDatabase() throws SQLException {
+        try (Connection connection = ConnectionManager.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement("SELECT current_database()");
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
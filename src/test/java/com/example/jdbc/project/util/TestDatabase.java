@@ -0,0 +1,116 @@
+package com.example.jdbc.project.util;
+
+import com.example.jdbc.project.dao.FlightDao;
+import com.example.jdbc.project.entity.Flight;
+import com.example.jdbc.project.entity.Ticket;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+public final class TestDatabase {
+    private static final String LOGIN = "postgres";
+    private static EmbeddedPostgres postgres;
+    private static String url;
+
+    private TestDatabase() {
+    }
+
+    public static synchronized void start() {
+        if (postgres != null) {
+            return;
+        }
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+            url = postgres.getJdbcUrl(LOGIN, "postgres") + "&reWriteBatchedInserts=true";
+            try (Connection connection = DriverManager.getConnection(url);
+                 Statement statement = connection.createStatement()) {
+                statement.execute(readInitScript());
+            }
+            System.setProperty("url", url);
+            System.setProperty("login", LOGIN);
+            System.setProperty("password", "");
+            Runtime.getRuntime().addShutdownHook(new Thread(TestDatabase::stop));
+        } catch (IOException | SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static String getUrl() {
+        start();
+        return url;
+    }
+
+    public static Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(getUrl(), LOGIN, "");
+    }
+
+    public static void execute(String sql) {
+        try (Connection connection = openConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static long queryForLong(String sql) {
+        try (Connection connection = openConnection();
+             Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery(sql);
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static Long newFlight() {
+        return newFlight(1);
+    }
+
+    public static Long newFlight(int aircraftId) {
+        start();
+        LocalDateTime departure = LocalDateTime.of(2030, 1, 1, 10, 0);
+        return FlightDao.getInstance().create(Flight.builder()
+                .flightNo("TS0001")
+                .departureDate(departure)
+                .departureAirportCode("MNK")
+                .arrivalDate(departure.plusHours(2))
+                .arrivalAirportCode("LDN")
+                .aircraftId(aircraftId)
+                .status("SCHEDULED")
+                .build()).getId();
+    }
+
+    public static Ticket ticket(Long flightId, String seatNo) {
+        return Ticket.builder()
+                .passengerNo("P1")
+                .passengerName("Test Passenger")
+                .flightId(flightId)
+                .seatNo(seatNo)
+                .cost(BigDecimal.TEN)
+                .build();
+    }
+
+    private static void stop() {
+        try {
+            postgres.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static String readInitScript() throws IOException {
+        try (InputStream inputStream = TestDatabase.class.getClassLoader().getResourceAsStream("init.sql")) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
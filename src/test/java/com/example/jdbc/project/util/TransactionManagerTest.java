@@ -0,0 +1,153 @@
+package com.example.jdbc.project.util;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionManagerTest {
+    private static final TransactionOptions SERIALIZABLE = TransactionOptions.builder()
+            .isolation(Connection.TRANSACTION_SERIALIZABLE)
+            .build();
+    private static final TransactionOptions READ_ONLY = TransactionOptions.builder()
+            .readOnly(true)
+            .build();
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @Test
+    void nestedFailureRollsBackToSavepointOnly() {
+        TransactionManager.inTransaction(() -> {
+            insertAircraft("TM outer");
+            assertThrows(IllegalArgumentException.class, () -> TransactionManager.inTransaction(() -> {
+                insertAircraft("TM inner");
+                throw new IllegalArgumentException("inner");
+            }));
+            return null;
+        });
+
+        assertEquals(1, countAircraft("TM outer"));
+        assertEquals(0, countAircraft("TM inner"));
+        assertFalse(TransactionManager.isActive());
+    }
+
+    @Test
+    void outerFailureRollsBackNestedWork() {
+        assertThrows(IllegalArgumentException.class, () -> TransactionManager.inTransaction(() -> {
+            TransactionManager.inTransaction(() -> insertAircraft("TM rolled back"));
+            throw new IllegalArgumentException("outer");
+        }));
+
+        assertEquals(0, countAircraft("TM rolled back"));
+        assertFalse(TransactionManager.isActive());
+    }
+
+    @Test
+    void nestedTransactionRejectsDifferentOptions() {
+        TransactionManager.inTransaction(() -> {
+            assertThrows(IllegalStateException.class, () -> TransactionManager.inTransaction(SERIALIZABLE, () -> null));
+            assertThrows(IllegalStateException.class, () -> TransactionManager.inTransaction(READ_ONLY, () -> null));
+            return null;
+        });
+        TransactionManager.inTransaction(SERIALIZABLE, () -> {
+            TransactionManager.inTransaction(() -> insertAircraft("TM serializable"));
+            return TransactionManager.inTransaction(SERIALIZABLE, () -> null);
+        });
+
+        assertEquals(1, countAircraft("TM serializable"));
+    }
+
+    @Test
+    void nestedTransactionInheritsReadOnlyUnlessSetExplicitly() {
+        TransactionOptions readWrite = TransactionOptions.builder().readOnly(false).build();
+
+        long count = TransactionManager.inTransaction(READ_ONLY, () -> {
+            assertThrows(IllegalStateException.class, () -> TransactionManager.inTransaction(readWrite, () -> null));
+            return TransactionManager.inTransaction(() -> countAircraft("TM read only"));
+        });
+        TransactionManager.inTransaction(readWrite, () -> TransactionManager.inTransaction(() -> insertAircraft("TM read only")));
+
+        assertEquals(0, count);
+        assertEquals(1, countAircraft("TM read only"));
+    }
+
+    @Test
+    void savepointRollbackFailureIsSuppressed() {
+        IllegalArgumentException failure = new IllegalArgumentException("nested");
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> TransactionManager.inTransaction(() -> TransactionManager.inTransaction(() -> {
+                    execute("ROLLBACK");
+                    throw failure;
+                })));
+
+        assertSame(failure, thrown);
+        assertTrue(thrown.getSuppressed().length > 0);
+        assertTrue(thrown.getSuppressed()[0] instanceof SQLException);
+    }
+
+    @Test
+    void rollbackFailureIsSuppressed() {
+        IllegalArgumentException failure = new IllegalArgumentException("outer");
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> TransactionManager.inTransaction(() -> {
+                    try {
+                        execute("SELECT pg_terminate_backend(pg_backend_pid())");
+                    } catch (SQLException ignored) {
+                    }
+                    throw failure;
+                }));
+
+        assertSame(failure, thrown);
+        assertEquals(1, thrown.getSuppressed().length);
+        assertTrue(thrown.getSuppressed()[0] instanceof SQLException);
+        assertFalse(TransactionManager.isActive());
+    }
+
+    @Test
+    void afterCommitActionsRunOnlyOnCommit() {
+        AtomicInteger runs = new AtomicInteger();
+
+        TransactionManager.inTransaction(() -> {
+            TransactionManager.afterCommit(runs::incrementAndGet);
+            assertEquals(0, runs.get());
+            return null;
+        });
+        assertThrows(IllegalArgumentException.class, () -> TransactionManager.inTransaction(() -> {
+            TransactionManager.afterCommit(runs::incrementAndGet);
+            throw new IllegalArgumentException("rollback");
+        }));
+        TransactionManager.afterCommit(runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+    }
+
+    private static Object insertAircraft(String model) throws SQLException {
+        execute("INSERT INTO aircraft(model) VALUES ('" + model + "')");
+        return null;
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = ConnectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static long countAircraft(String model) {
+        return TestDatabase.queryForLong("SELECT count(*) FROM aircraft WHERE model = '" + model + "'");
+    }
+}